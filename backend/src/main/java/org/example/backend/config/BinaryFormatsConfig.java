@@ -0,0 +1,59 @@
+package org.example.backend.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary representations for sync clients, chosen by {@code Accept} on the same endpoints; JSON stays
+ * the default because its converter comes first.
+ * <ul>
+ *     <li>{@code application/cbor} and {@code application/x-jackson-smile}: the JSON model with enums
+ *     written as their index, nulls left out and pages reduced to {@code content}, {@code number},
+ *     {@code size}, {@code totalElements} and {@code totalPages};</li>
+ *     <li>{@code application/x-protobuf}: listings and single students only, see
+ *     {@link StudentProtobufHttpMessageConverter}.</li>
+ * </ul>
+ */
+@Configuration
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+
+    public static ObjectMapper cborMapper() {
+        return binary(Jackson2ObjectMapperBuilder.cbor()).build();
+    }
+
+    public static ObjectMapper smileMapper() {
+        return binary(Jackson2ObjectMapperBuilder.smile()).build();
+    }
+
+    private static Jackson2ObjectMapperBuilder binary(Jackson2ObjectMapperBuilder builder) {
+        return builder
+                .featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .mixIn(PageImpl.class, CompactPage.class);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper()));
+        converters.add(new StudentProtobufHttpMessageConverter());
+    }
+
+    /** Everything a client can derive from {@code number}, {@code size} and {@code totalElements}. */
+    @JsonIgnoreProperties({"pageable", "sort", "first", "last", "empty", "numberOfElements"})
+    private abstract static class CompactPage {
+    }
+}
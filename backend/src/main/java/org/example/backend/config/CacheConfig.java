@@ -0,0 +1,40 @@
+package org.example.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Bounded Caffeine caches. Statistics are recorded so Actuator publishes {@code cache.gets{result=hit|miss}},
+ * {@code cache.evictions} and {@code cache.size} for every cache registered here.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ADMIN_DETAILS = "adminDetails";
+    public static final String STUDENTS = "students";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.admin-details.max-size:1000}") long adminDetailsMaxSize,
+                                     @Value("${app.cache.admin-details.ttl:PT5M}") Duration adminDetailsTtl,
+                                     @Value("${app.cache.students.spec:maximumSize=10000,expireAfterWrite=10m}") String studentsSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(ADMIN_DETAILS, Caffeine.newBuilder()
+                .maximumSize(adminDetailsMaxSize)
+                .expireAfterWrite(adminDetailsTtl)
+                .recordStats()
+                .build());
+        // Size bound and eviction policy come from a Caffeine spec, e.g. maximumSize=50000,expireAfterAccess=30m
+        cacheManager.registerCustomCache(STUDENTS, Caffeine.from(studentsSpec)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
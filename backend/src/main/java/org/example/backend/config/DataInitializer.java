@@ -21,7 +21,8 @@ public class DataInitializer implements CommandLineRunner {
 
     @Override
     public void run(String... args) throws Exception {
-        if (adminRepository.count() == 0) {
+        // Check-then-insert must not see replica lag, or a restart could create a second admin
+        if (ReadWriteRoutingDataSource.onPrimary(adminRepository::count) == 0) {
             Admin admin = new Admin();
             admin.setUsername("admin");
             String encodedPassword = passwordEncoder.encode("password");
@@ -0,0 +1,136 @@
+package org.example.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.backend.enums.RateLimitTier;
+import org.example.backend.exception.ErrorResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting for {@code /api/**}, keyed by JWT subject or, for anonymous requests, by
+ * client address. Each client has one bucket per {@link RateLimitTier}, so a burst of exports cannot
+ * use up the budget for plain reads. Buckets are lock-free and live in a bounded Caffeine map, which
+ * keeps the check to a hash lookup and a CAS.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_TRACKED_CLIENTS = 100_000;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Map<RateLimitTier, Bandwidth> limits = new EnumMap<>(RateLimitTier.class);
+    private final Cache<ClientKey, Bucket> buckets;
+
+    public RateLimitFilter(ObjectMapper objectMapper,
+                           @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.read.capacity:300}") long readCapacity,
+                           @Value("${app.rate-limit.read.period:PT1M}") Duration readPeriod,
+                           @Value("${app.rate-limit.search.capacity:60}") long searchCapacity,
+                           @Value("${app.rate-limit.search.period:PT1M}") Duration searchPeriod,
+                           @Value("${app.rate-limit.bulk.capacity:5}") long bulkCapacity,
+                           @Value("${app.rate-limit.bulk.period:PT1M}") Duration bulkPeriod) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        limits.put(RateLimitTier.READ, bandwidth(readCapacity, readPeriod));
+        limits.put(RateLimitTier.SEARCH, bandwidth(searchCapacity, searchPeriod));
+        limits.put(RateLimitTier.BULK, bandwidth(bulkCapacity, bulkPeriod));
+        // An idle bucket refills completely within its period, so dropping it after that loses nothing
+        Duration idle = readPeriod.compareTo(searchPeriod) > 0 ? readPeriod : searchPeriod;
+        idle = idle.compareTo(bulkPeriod) > 0 ? idle : bulkPeriod;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_CLIENTS)
+                .expireAfterAccess(idle)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimitTier tier = classify(request);
+        Bucket bucket = buckets.get(new ClientKey(tier, client(request)), key -> newBucket(key.tier()));
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (probe.isConsumed()) {
+            response.setHeader("X-Rate-Limit-Remaining", Long.toString(probe.getRemainingTokens()));
+            chain.doFilter(request, response);
+            return;
+        }
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill() + 999_999_999));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Rate limit exceeded for " + tier.name().toLowerCase(Locale.ROOT) + " requests, retry in " + retryAfterSeconds + "s"));
+    }
+
+    static RateLimitTier classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.equals("/api/students/export")
+                || path.equals("/api/students/export/delta")
+                || path.equals("/api/students/stream")
+                || path.equals("/api/students/bulk")
+                || (path.equals("/api/students/import") && HttpMethod.POST.matches(request.getMethod()))) {
+            return RateLimitTier.BULK;
+        }
+        String searchTerm = request.getParameter("searchTerm");
+        if (searchTerm != null && !searchTerm.isBlank()) {
+            return RateLimitTier.SEARCH;
+        }
+        return RateLimitTier.READ;
+    }
+
+    /**
+     * Also keys {@link ReplicaLagGuard}, so both see the same client. Behind a load balancer the remote
+     * address is the client's from {@code X-Forwarded-For}, see {@code server.forward-headers-strategy}.
+     */
+    static String client(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private Bucket newBucket(RateLimitTier tier) {
+        return Bucket.builder().addLimit(limits.get(tier)).build();
+    }
+
+    private static Bandwidth bandwidth(long capacity, Duration period) {
+        return Bandwidth.builder().capacity(capacity).refillGreedy(capacity, period).build();
+    }
+
+    private record ClientKey(RateLimitTier tier, String client) {
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary. The decision is
+ * taken when a connection is first needed, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction's read-only
+ * flag is only known once it has begun, after JPA has already asked for a connection handle.
+ * <p>
+ * Reads still go to the primary when the current client wrote recently (see {@link ReplicaLagGuard})
+ * or inside {@link #onPrimary}. Read-write transactions restart the client's lag window when they commit.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final ReplicaLagGuard lagGuard;
+
+    public ReadWriteRoutingDataSource(ReplicaLagGuard lagGuard) {
+        this.lagGuard = lagGuard;
+    }
+
+    /**
+     * Runs {@code work} with its reads on the primary, for reads that must not see replica lag, e.g.
+     * results that are cached or that correct state kept from committed changes. Without replica
+     * routing this simply runs {@code work}.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            } else {
+                FORCE_PRIMARY.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            return Route.PRIMARY;
+        }
+        return FORCE_PRIMARY.get() != null || lagGuard.isPinned() ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    private void recordWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // Resolved now: the commit callback may run after the request attributes are gone
+        String client = lagGuard.currentClient();
+        if (client != null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lagGuard.recordWrite(client);
+                }
+            });
+        }
+    }
+}
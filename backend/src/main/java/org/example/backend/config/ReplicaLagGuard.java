@@ -0,0 +1,95 @@
+package org.example.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Read-your-writes for replica routing: a client whose write committed less than {@code maxLag} ago has
+ * its reads pinned to the primary, so it never reads a replica that has not caught up with it yet.
+ * Clients are keyed like the rate limiter (JWT subject, else client address). Work outside an HTTP
+ * request (scheduled jobs, background imports) belongs to no client and is never pinned.
+ * <p>
+ * The pin is kept on this node and also handed to the client as {@value #PIN_HEADER}, the epoch millis it
+ * lasts until. A client that sends the header back is pinned on whichever node it reaches next, so
+ * read-your-writes holds across nodes without sticky sessions (given node clocks within a fraction of
+ * {@code maxLag}). Clients that ignore the header only get it from the node they wrote through. Values
+ * more than twice {@code maxLag} ahead are not honoured, so the header cannot pin a client for good.
+ */
+public class ReplicaLagGuard {
+
+    public static final String PIN_HEADER = "X-Read-Primary-Until";
+
+    private static final int MAX_TRACKED_CLIENTS = 100_000;
+
+    private final Cache<String, Boolean> recentWriters;
+    private final long maxLagMillis;
+
+    public ReplicaLagGuard(Duration maxLag) {
+        this.maxLagMillis = maxLag.toMillis();
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_CLIENTS)
+                .expireAfterWrite(maxLag)
+                .build();
+    }
+
+    /** The client of the current request, or {@code null} outside a request. */
+    public String currentClient() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            return RateLimitFilter.client(request);
+        }
+        return null;
+    }
+
+    public boolean isPinned() {
+        String client = currentClient();
+        if (client == null) {
+            return false;
+        }
+        return recentWriters.getIfPresent(client) != null || pinnedByHeader(currentRequest().getHeader(PIN_HEADER));
+    }
+
+    /**
+     * Starts (or restarts) the lag window of {@code client} and, when called on the thread of a request
+     * whose response is not yet committed, hands it to the client; {@code null} is ignored.
+     */
+    public void recordWrite(String client) {
+        if (client == null) {
+            return;
+        }
+        recentWriters.put(client, Boolean.TRUE);
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletResponse response = servletAttributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                response.setHeader(PIN_HEADER, Long.toString(System.currentTimeMillis() + maxLagMillis));
+            }
+        }
+    }
+
+    private boolean pinnedByHeader(String value) {
+        if (value == null) {
+            return false;
+        }
+        long until;
+        try {
+            until = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        // Twice the lag leaves room for the writing node's clock being ahead of this one
+        return until > now && until <= now + 2 * maxLagMillis;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
+    }
+}
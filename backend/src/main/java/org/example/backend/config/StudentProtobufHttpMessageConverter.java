@@ -0,0 +1,161 @@
+package org.example.backend.config;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.example.backend.dto.StudentCursorPage;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.dto.StudentSlice;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes students as protocol buffers without generated classes; clients decode with this schema:
+ * <pre>
+ * enum Level { FIRST_GRADE = 0; SECOND_GRADE = 1; THIRD_GRADE = 2; FOURTH_GRADE = 3; FIFTH_GRADE = 4; }
+ * message Student { int64 id = 1; string username = 2; Level level = 3; int64 version = 4; }
+ * message StudentList {            // Page, StudentSlice and StudentCursorPage
+ *   repeated Student content = 1;
+ *   int32 number = 2;
+ *   int32 size = 3;
+ *   int64 total_elements = 4;
+ *   int32 total_pages = 5;
+ *   bool has_next = 6;
+ *   bool total_exact = 7;
+ *   string next_cursor = 8;
+ * }
+ * </pre>
+ * As in proto3, fields holding their default value are not written. Write-only: requests stay JSON.
+ */
+public class StudentProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public StudentProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StudentDto.class.isAssignableFrom(clazz)
+                || StudentSlice.class.isAssignableFrom(clazz)
+                || StudentCursorPage.class.isAssignableFrom(clazz)
+                || Page.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream out = CodedOutputStream.newInstance(outputMessage.getBody());
+        write(body, out);
+        out.flush();
+    }
+
+    /** Encodes {@code body} as a {@code Student} or {@code StudentList} message. */
+    public static void write(Object body, CodedOutputStream out) throws IOException {
+        if (body instanceof StudentDto student) {
+            writeStudentFields(student, out);
+        } else if (body instanceof Page<?> page) {
+            writeContent(page.getContent(), out);
+            writeInt32(2, page.getNumber(), out);
+            writeInt32(3, page.getSize(), out);
+            writeInt64(4, page.getTotalElements(), out);
+            writeInt32(5, page.getTotalPages(), out);
+            writeBool(6, page.hasNext(), out);
+        } else if (body instanceof StudentSlice slice) {
+            writeContent(slice.getContent(), out);
+            writeInt32(2, slice.getNumber(), out);
+            writeInt32(3, slice.getSize(), out);
+            writeInt64(4, slice.getTotalElements(), out);
+            writeBool(6, slice.isHasNext(), out);
+            writeBool(7, slice.isTotalExact(), out);
+        } else if (body instanceof StudentCursorPage page) {
+            writeContent(page.getContent(), out);
+            writeInt32(3, page.getSize(), out);
+            writeBool(6, page.isHasNext(), out);
+            if (page.getNextCursor() != null) {
+                out.writeString(8, page.getNextCursor());
+            }
+        } else {
+            throw new HttpMessageNotWritableException("Cannot write " + body.getClass().getName() + " as protobuf");
+        }
+    }
+
+    private static void writeContent(List<?> content, CodedOutputStream out) throws IOException {
+        for (Object element : content) {
+            if (!(element instanceof StudentDto student)) {
+                throw new HttpMessageNotWritableException("Cannot write a page of "
+                        + element.getClass().getName() + " as protobuf");
+            }
+            out.writeTag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(studentSize(student));
+            writeStudentFields(student, out);
+        }
+    }
+
+    private static void writeStudentFields(StudentDto student, CodedOutputStream out) throws IOException {
+        if (student.getId() != null) {
+            writeInt64(1, student.getId(), out);
+        }
+        if (student.getUsername() != null && !student.getUsername().isEmpty()) {
+            out.writeString(2, student.getUsername());
+        }
+        if (student.getLevel() != null) {
+            writeInt32(3, student.getLevel().ordinal(), out);
+        }
+        if (student.getVersion() != null) {
+            writeInt64(4, student.getVersion(), out);
+        }
+    }
+
+    private static int studentSize(StudentDto student) {
+        int size = 0;
+        if (student.getId() != null && student.getId() != 0) {
+            size += CodedOutputStream.computeInt64Size(1, student.getId());
+        }
+        if (student.getUsername() != null && !student.getUsername().isEmpty()) {
+            size += CodedOutputStream.computeStringSize(2, student.getUsername());
+        }
+        if (student.getLevel() != null && student.getLevel().ordinal() != 0) {
+            size += CodedOutputStream.computeEnumSize(3, student.getLevel().ordinal());
+        }
+        if (student.getVersion() != null && student.getVersion() != 0) {
+            size += CodedOutputStream.computeInt64Size(4, student.getVersion());
+        }
+        return size;
+    }
+
+    private static void writeInt32(int field, int value, CodedOutputStream out) throws IOException {
+        if (value != 0) {
+            out.writeInt32(field, value);
+        }
+    }
+
+    private static void writeInt64(int field, long value, CodedOutputStream out) throws IOException {
+        if (value != 0) {
+            out.writeInt64(field, value);
+        }
+    }
+
+    private static void writeBool(int field, boolean value, CodedOutputStream out) throws IOException {
+        if (value) {
+            out.writeBool(field, true);
+        }
+    }
+}
@@ -8,19 +8,38 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.ImportJobStatus;
+import org.example.backend.dto.StudentBulkRequest;
+import org.example.backend.dto.StudentBulkResponse;
 import org.example.backend.dto.StudentCreateUpdateDto;
+import org.example.backend.dto.StudentCursorPage;
+import org.example.backend.dto.StudentDelta;
 import org.example.backend.dto.StudentDto;
+import org.example.backend.dto.StudentSlice;
+import org.example.backend.dto.StudentStatistics;
+import org.example.backend.enums.ImportMode;
 import org.example.backend.enums.Level;
+import org.example.backend.enums.StudentSort;
+import org.example.backend.exception.ServiceUnavailableException;
+import org.example.backend.service.ImportJobService;
+import org.example.backend.service.StudentChangeFeed;
+import org.example.backend.service.StudentDeltaService;
 import org.example.backend.service.StudentService;
+import org.example.backend.service.StudentStatisticsService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/students")
@@ -29,29 +48,97 @@ import java.io.IOException;
 @CrossOrigin(origins = "http://localhost:4200", allowCredentials = "true")
 public class StudentController {
 
+    /**
+     * Lets browsers keep student responses but revalidate them on every use, turning repeat reads into
+     * conditional requests. Without it Spring Security's default no-store would suppress If-None-Match.
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    /** Carries the new watermark of a CSV delta export, which has no body field to put it in. */
+    static final String WATERMARK_HEADER = "X-Watermark";
+
     private final StudentService studentService;
+    private final ImportJobService importJobService;
+    private final StudentStatisticsService studentStatisticsService;
+    private final StudentChangeFeed studentChangeFeed;
+    private final StudentDeltaService studentDeltaService;
 
     @Operation(summary = "Get all students")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of students"),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
-    public Page<StudentDto> getAllStudents(@RequestParam(required = false) String searchTerm,
-                                           @RequestParam(required = false) Level level,
-                                           Pageable pageable) {
-        return studentService.getAllStudents(searchTerm, level, pageable);
+    public ResponseEntity<Page<StudentDto>> getAllStudents(@RequestParam(required = false) String searchTerm,
+                                                           @RequestParam(required = false) Level level,
+                                                           Pageable pageable) {
+        Page<StudentDto> page = studentService.getAllStudents(searchTerm, level, pageable);
+        // Spring answers 304 itself, without writing the body, when the ETag matches If-None-Match
+        return ResponseEntity.ok().eTag(StudentETags.of(page)).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(page);
+    }
+
+    @Operation(summary = "Get a page of students without counting them",
+            description = "Same filters and paging as the list endpoint, but runs a single query per page. "
+                    + "totalElements comes from a count cache: exact without a search term, an estimate with one.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of students"),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/slice")
+    public ResponseEntity<StudentSlice> getStudentSlice(@RequestParam(required = false) String searchTerm,
+                                                        @RequestParam(required = false) Level level,
+                                                        Pageable pageable) {
+        StudentSlice slice = studentService.getStudentSlice(searchTerm, level, pageable);
+        return ResponseEntity.ok().eTag(StudentETags.of(slice)).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(slice);
+    }
+
+    @Operation(summary = "Get students using keyset (cursor) pagination",
+            description = "Returns slices ordered by the given sort key without a total count. "
+                    + "Pass the returned nextCursor back to fetch the following slice.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved slice of students"),
+            @ApiResponse(responseCode = "304", description = "Slice unchanged since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<StudentCursorPage> getStudentsByCursor(@RequestParam(required = false) String searchTerm,
+                                                                 @RequestParam(required = false) Level level,
+                                                                 @RequestParam(defaultValue = "ID") StudentSort sort,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "20") int size) {
+        StudentCursorPage page = studentService.getStudentsByCursor(searchTerm, level, sort, cursor, size);
+        return ResponseEntity.ok().eTag(StudentETags.of(page)).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(page);
+    }
+
+    @Operation(summary = "Get the number of students, overall and per level",
+            description = "Served from in-memory counters without querying the database.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "503", description = "Counters not loaded yet")
+    })
+    @GetMapping("/statistics")
+    public ResponseEntity<StudentStatistics> getStatistics() {
+        if (!studentStatisticsService.isReady()) {
+            throw new ServiceUnavailableException("Student statistics are still loading, please retry shortly");
+        }
+        return ResponseEntity.ok(studentStatisticsService.getStatistics());
     }
 
     @Operation(summary = "Get a student by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved student"),
+            @ApiResponse(responseCode = "304", description = "Student unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Student not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<StudentDto> getStudentById(@PathVariable Long id) {
-        return ResponseEntity.ok(studentService.getStudentById(id));
+        StudentDto student = studentService.getStudentById(id);
+        return ResponseEntity.ok().eTag(StudentETags.of(student)).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(student);
     }
 
     @Operation(summary = "Create a new student")
@@ -62,7 +149,8 @@ public class StudentController {
     })
     @PostMapping
     public ResponseEntity<StudentDto> createStudent(@Valid @RequestBody StudentCreateUpdateDto dto) {
-        return new ResponseEntity<>(studentService.createStudent(dto), HttpStatus.CREATED);
+        StudentDto created = studentService.createStudent(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(StudentETags.of(created)).body(created);
     }
 
     @Operation(summary = "Update an existing student")
@@ -70,25 +158,44 @@ public class StudentController {
             @ApiResponse(responseCode = "200", description = "Student updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request body"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "404", description = "Student not found")
+            @ApiResponse(responseCode = "404", description = "Student not found"),
+            @ApiResponse(responseCode = "409", description = "Student modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<StudentDto> updateStudent(@PathVariable Long id, @Valid @RequestBody StudentCreateUpdateDto dto) {
-        return ResponseEntity.ok(studentService.updateStudent(id, dto));
+    public ResponseEntity<StudentDto> updateStudent(@PathVariable Long id, @Valid @RequestBody StudentCreateUpdateDto dto,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        StudentDto updated = studentService.updateStudent(id, dto, StudentETags.expectedVersion(id, ifMatch));
+        return ResponseEntity.ok().eTag(StudentETags.of(updated)).body(updated);
     }
 
     @Operation(summary = "Delete a student")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Student deleted successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "404", description = "Student not found")
+            @ApiResponse(responseCode = "404", description = "Student not found"),
+            @ApiResponse(responseCode = "409", description = "Student modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
     })
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
-        studentService.deleteStudent(id);
+    public ResponseEntity<Void> deleteStudent(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        studentService.deleteStudent(id, StudentETags.expectedVersion(id, ifMatch));
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Create, update and delete many students in one call",
+            description = "Deletes run first, then updates, then creates. Items that cannot be applied are reported per item; the rest are committed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Request processed, see the per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or too many items"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<StudentBulkResponse> applyBulk(@Valid @RequestBody StudentBulkRequest request) {
+        return ResponseEntity.ok(studentService.applyBulk(request));
+    }
+
     @Operation(summary = "Export students to CSV")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully exported students"),
@@ -101,19 +208,100 @@ public class StudentController {
         studentService.exportStudents(response.getWriter());
     }
 
-    @Operation(summary = "Import students from CSV")
+    @Operation(summary = "Get the students changed since a watermark",
+            description = "Returns the students created or updated and the ids of those deleted after the given "
+                    + "watermark, in change order. since=0 is a full sync. While hasNext is true, pass nextCursor back "
+                    + "for the rest of the sync; then keep watermark for the next one.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully imported students"),
-            @ApiResponse(responseCode = "400", description = "Invalid file format"),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved changes"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "410", description = "Watermark too old or unknown, start over with since=0")
+    })
+    @GetMapping("/delta")
+    public ResponseEntity<StudentDelta> getStudentDelta(@RequestParam(defaultValue = "0") long since,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(studentDeltaService.getDelta(since, cursor, limit));
+    }
+
+    @Operation(summary = "Export the students changed since a watermark (CSV)",
+            description = "Columns ID, Username, Level, Deleted: changed students first, then deletions. "
+                    + "The new watermark is returned in the X-Watermark header.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully exported changes"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "410", description = "Watermark too old or unknown, start over with since=0")
+    })
+    @GetMapping("/export/delta")
+    public void exportStudentDelta(@RequestParam(defaultValue = "0") long since,
+                                   HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv");
+        response.setHeader("Content-Disposition", "attachment; file=students-delta.csv");
+        studentDeltaService.exportDelta(since, watermark -> response.setHeader(WATERMARK_HEADER, Long.toString(watermark)),
+                response.getWriter());
+    }
+
+    @Operation(summary = "Stream all matching students as newline-delimited JSON",
+            description = "One student per line in id order, read through a database cursor and written as it is "
+                    + "read, so the whole result arrives in one response without paging. Same filters as the list endpoint.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Students streamed"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamStudents(@RequestParam(required = false) String searchTerm,
+                               @RequestParam(required = false) Level level,
+                               HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        studentService.streamStudents(searchTerm, level, response.getOutputStream());
+    }
+
+    @Operation(summary = "Follow student changes as Server-Sent Events",
+            description = "One event per committed create, update, delete or import, named after its type. "
+                    + "Reconnect with Last-Event-ID to receive the events missed in between; a reset event means "
+                    + "they are no longer available and the client should reload.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Subscribed to the change feed"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter followChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return studentChangeFeed.subscribe(lastEventId);
+    }
+
+    @Operation(summary = "Import students from CSV",
+            description = "Stores the upload and imports it in the background. Poll the returned job for progress. "
+                    + "In INSERT mode rows whose username exists are rejected; in UPSERT mode they update that "
+                    + "student's level, and rows that match exactly are skipped without a write.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import job accepted"),
+            @ApiResponse(responseCode = "400", description = "Invalid file format"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "503", description = "Too many imports in progress")
+    })
     @PostMapping(
             value = "/import",
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE
     )
-    public ResponseEntity<Void> importStudents(@RequestParam("file") MultipartFile file) {
-        studentService.importStudents(file);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ImportJobStatus> importStudents(@RequestParam("file") MultipartFile file,
+                                                         @RequestParam(defaultValue = "INSERT") ImportMode mode) {
+        ImportJobStatus job = importJobService.submit(file, mode);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/students/import/" + job.getJobId()))
+                .body(job);
+    }
+
+    @Operation(summary = "Get the state and progress of an import job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved import job"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Import job not found")
+    })
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobStatus> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(importJobService.getStatus(jobId));
     }
 
 }
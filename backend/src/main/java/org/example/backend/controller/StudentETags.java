@@ -0,0 +1,97 @@
+package org.example.backend.controller;
+
+import org.example.backend.dto.StudentCursorPage;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.dto.StudentSlice;
+import org.example.backend.exception.BadRequestException;
+import org.example.backend.exception.PreconditionFailedException;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strong entity tags for student representations. Every write bumps a student's version, so a
+ * representation is fully determined by the ids and versions it contains plus its paging metadata.
+ * The tags are therefore computed before serialization, which lets a matching {@code If-None-Match}
+ * be answered with {@code 304 Not Modified} without rendering the body.
+ */
+final class StudentETags {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private StudentETags() {
+    }
+
+    /** {@code "<id>-<version>"}, which also lets {@link #expectedVersion} recover the version. */
+    static String of(StudentDto student) {
+        return "\"" + student.getId() + "-" + student.getVersion() + "\"";
+    }
+
+    static String of(Page<StudentDto> page) {
+        long hash = mix(FNV_OFFSET_BASIS, page.getTotalElements());
+        hash = mix(hash, page.getNumber());
+        hash = mix(hash, page.getSize());
+        return "\"p-" + Long.toHexString(mix(hash, page.getContent())) + "\"";
+    }
+
+    static String of(StudentSlice slice) {
+        long hash = mix(FNV_OFFSET_BASIS, slice.getTotalElements());
+        hash = mix(hash, slice.getNumber());
+        hash = mix(hash, slice.getSize());
+        hash = mix(hash, slice.isHasNext() ? 1 : 0);
+        return "\"s-" + Long.toHexString(mix(hash, slice.getContent())) + "\"";
+    }
+
+    static String of(StudentCursorPage page) {
+        long hash = mix(FNV_OFFSET_BASIS, page.getSize());
+        hash = mix(hash, page.getNextCursor() == null ? 0 : page.getNextCursor().hashCode());
+        return "\"c-" + Long.toHexString(mix(hash, page.getContent())) + "\"";
+    }
+
+    /**
+     * Translates an {@code If-Match} header into the version the write must find, or {@code null} if the
+     * write is unconditional ({@code If-Match} absent or {@code *}).
+     *
+     * @throws PreconditionFailedException if no tag in the header can match student {@code id}
+     */
+    static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        String prefix = "\"" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            // Weak tags never match under the strong comparison If-Match requires
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    versions.add(Long.parseLong(tag.substring(prefix.length(), tag.length() - 1)));
+                } catch (NumberFormatException ignored) {
+                    // Not one of our tags, cannot match
+                }
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match does not match the current version of student " + id);
+        }
+        if (versions.size() > 1) {
+            throw new BadRequestException("If-Match must name a single version of student " + id);
+        }
+        return versions.get(0);
+    }
+
+    private static long mix(long hash, List<StudentDto> students) {
+        for (StudentDto student : students) {
+            hash = mix(hash, student.getId());
+            hash = mix(hash, student.getVersion() == null ? -1 : student.getVersion());
+        }
+        return hash;
+    }
+
+    /** FNV-1a over whole longs rather than bytes; good enough spread for change detection. */
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+}
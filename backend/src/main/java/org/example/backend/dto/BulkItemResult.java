@@ -0,0 +1,32 @@
+package org.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.enums.BulkItemStatus;
+import org.example.backend.enums.BulkOperation;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Outcome of one item of a bulk request")
+public class BulkItemResult {
+
+    @Schema(description = "Operation the item belongs to", example = "UPDATE")
+    private BulkOperation operation;
+
+    @Schema(description = "Position of the item in its creates, updates or deletes list", example = "0")
+    private int index;
+
+    @Schema(description = "Student id, when known", example = "42")
+    private Long id;
+
+    @Schema(description = "Outcome", example = "UPDATED")
+    private BulkItemStatus status;
+
+    @Schema(description = "Reason the item was not applied")
+    private String message;
+}
@@ -0,0 +1,19 @@
+package org.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A CSV row rejected during import")
+public class ImportError {
+
+    @Schema(description = "1-based line number in the uploaded file", example = "42")
+    private long line;
+
+    @Schema(description = "Why the row was rejected", example = "Unknown level SIXTH_GRADE")
+    private String message;
+}
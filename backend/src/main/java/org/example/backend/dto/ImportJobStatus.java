@@ -0,0 +1,55 @@
+package org.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.enums.ImportJobState;
+import org.example.backend.enums.ImportMode;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "State and progress of a background CSV import")
+public class ImportJobStatus {
+
+    @Schema(description = "Job identifier", example = "3f1c7a9e-2b7d-4a51-9a55-0c1a3f0e8d21")
+    private String jobId;
+
+    @Schema(description = "Job state", example = "RUNNING")
+    private ImportJobState state;
+
+    @Schema(description = "Name of the uploaded file", example = "students.csv")
+    private String fileName;
+
+    @Schema(description = "How rows matching an existing username are handled", example = "INSERT")
+    private ImportMode mode;
+
+    private Instant submittedAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    @Schema(description = "Data rows processed so far", example = "42000")
+    private long rowsProcessed;
+
+    @Schema(description = "Rows inserted so far", example = "41990")
+    private long inserted;
+
+    @Schema(description = "Rows rejected so far", example = "10")
+    private long rejected;
+
+    @Schema(description = "Current throughput in rows per second", example = "15000.0")
+    private double rowsPerSecond;
+
+    @Schema(description = "Full report, available once the job has completed")
+    private ImportReport report;
+
+    @Schema(description = "Failure reason when the job failed")
+    private String error;
+}
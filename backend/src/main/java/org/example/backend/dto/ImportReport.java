@@ -0,0 +1,44 @@
+package org.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Outcome of a CSV import")
+public class ImportReport {
+
+    @Schema(description = "Data rows read, excluding the header", example = "10000")
+    private long totalRows;
+
+    @Schema(description = "Rows inserted", example = "9998")
+    private long inserted;
+
+    @Schema(description = "Existing students whose level was changed (upsert mode)", example = "0")
+    private long updated;
+
+    @Schema(description = "Rows matching an existing student exactly, left untouched (upsert mode)", example = "0")
+    private long unchanged;
+
+    @Schema(description = "Rows rejected", example = "2")
+    private long rejected;
+
+    @Schema(description = "Wall-clock duration of the import in milliseconds", example = "850")
+    private long elapsedMillis;
+
+    @Schema(description = "Throughput in rows per second", example = "11764.7")
+    private double rowsPerSecond;
+
+    @Schema(description = "Rejected rows, capped to the first few hundred")
+    private List<ImportError> errors;
+
+    @Schema(description = "Whether more rows were rejected than are listed in errors")
+    private boolean errorsTruncated;
+}
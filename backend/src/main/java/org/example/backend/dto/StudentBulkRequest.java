@@ -0,0 +1,34 @@
+package org.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Creates, updates and deletes applied in one call; deletes run first, then updates, then creates")
+public class StudentBulkRequest {
+
+    @Valid
+    @Builder.Default
+    @Schema(description = "Students to create")
+    private List<@NotNull StudentCreateUpdateDto> creates = new ArrayList<>();
+
+    @Valid
+    @Builder.Default
+    @Schema(description = "Students to update, identified by id")
+    private List<@NotNull StudentBulkUpdate> updates = new ArrayList<>();
+
+    @Builder.Default
+    @Schema(description = "Ids of students to delete")
+    private List<@NotNull Long> deletes = new ArrayList<>();
+}
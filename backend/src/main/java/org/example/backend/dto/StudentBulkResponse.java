@@ -0,0 +1,32 @@
+package org.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Outcome of a bulk request")
+public class StudentBulkResponse {
+
+    @Schema(description = "Students created", example = "100")
+    private int created;
+
+    @Schema(description = "Students updated", example = "250")
+    private int updated;
+
+    @Schema(description = "Students deleted", example = "10")
+    private int deleted;
+
+    @Schema(description = "Items not applied", example = "1")
+    private int failed;
+
+    @Schema(description = "One result per item, deletes first, then updates, then creates")
+    private List<BulkItemResult> results;
+}
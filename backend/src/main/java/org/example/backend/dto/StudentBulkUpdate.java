@@ -0,0 +1,29 @@
+package org.example.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.enums.Level;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentBulkUpdate {
+    @NotNull(message = "Id is required")
+    private Long id;
+
+    @NotBlank(message = "Username is required")
+    @Size(min = 3, max = 20, message = "Username must be between 3 and 20 characters")
+    private String username;
+
+    @NotNull(message = "Level is required")
+    private Level level;
+
+    /** Optional; when set the update only applies if the student is still at this version. */
+    private Long version;
+}
@@ -0,0 +1,27 @@
+package org.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.event.StudentChangeEvent;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Data of one event on the student change feed")
+public class StudentChangeNotification {
+
+    @Schema(description = "Kind of change, also the SSE event name in lower case", example = "UPDATED")
+    private StudentChangeEvent.Type type;
+
+    @Schema(description = "Number of students changed", example = "1")
+    private int count;
+
+    @Schema(description = "Students after the change (as removed, for deletions); null for imports and large bulk changes, reload instead")
+    private List<StudentDto> students;
+}
@@ -0,0 +1,29 @@
+package org.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A keyset-paginated slice of students")
+public class StudentCursorPage {
+
+    @Schema(description = "Students in this slice")
+    private List<StudentDto> content;
+
+    @Schema(description = "Maximum number of students requested", example = "20")
+    private int size;
+
+    @Schema(description = "Whether more students follow this slice")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque cursor to pass back to fetch the next slice, null on the last slice")
+    private String nextCursor;
+}
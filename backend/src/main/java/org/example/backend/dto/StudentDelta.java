@@ -0,0 +1,32 @@
+package org.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Students changed and deleted since a watermark")
+public class StudentDelta {
+
+    @Schema(description = "Students created or updated, each once, in its latest state")
+    private List<StudentDto> changed;
+
+    @Schema(description = "Ids of deleted students; always empty for a full sync (since=0)")
+    private List<Long> deleted;
+
+    @Schema(description = "Pass as since on the next sync once hasNext is false", example = "48213")
+    private long watermark;
+
+    @Schema(description = "Whether more changes up to the watermark follow; fetch them with nextCursor")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque cursor for the next page of this sync, null on the last page")
+    private String nextCursor;
+}
@@ -31,4 +31,7 @@ public class StudentDto {
     @Schema(description = "Student level", example = "INTERMEDIATE", required = true)
     private Level level;
 
+    @Schema(description = "Version of the record, incremented on every change", example = "0", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
+
 }
@@ -0,0 +1,35 @@
+package org.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "An offset-paginated slice of students, fetched without a COUNT query")
+public class StudentSlice {
+
+    @Schema(description = "Students in this slice")
+    private List<StudentDto> content;
+
+    @Schema(description = "Zero-based page number", example = "0")
+    private int number;
+
+    @Schema(description = "Requested page size", example = "20")
+    private int size;
+
+    @Schema(description = "Whether another page follows this one")
+    private boolean hasNext;
+
+    @Schema(description = "Total number of matching students, served from the count cache", example = "1250")
+    private long totalElements;
+
+    @Schema(description = "Whether totalElements is exact as of the change log (no search term, about a second behind writes on any node) or an estimate refreshed in the background")
+    private boolean totalExact;
+}
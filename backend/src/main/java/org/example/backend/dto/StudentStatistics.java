@@ -0,0 +1,28 @@
+package org.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.enums.Level;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Roster size, overall and per level")
+public class StudentStatistics {
+
+    @Schema(description = "Total number of students", example = "1250")
+    private long total;
+
+    @Schema(description = "Number of students per level, every level present")
+    private Map<Level, Long> levels;
+
+    @Schema(description = "When the counters were last reconciled with the database")
+    private Instant reconciledAt;
+}
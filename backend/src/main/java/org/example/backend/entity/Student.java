@@ -3,6 +3,7 @@ package org.example.backend.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.example.backend.enums.Level;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Getter
@@ -23,4 +24,14 @@ public class Student {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Level level;
+
+    /** Optimistic lock version, bumped on every write; also the basis of the student's ETag. */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    /** {@code LOWER(username)}, generated and indexed by the database; query it with lower-cased values. */
+    @Column(name = "username_lower", insertable = false, updatable = false)
+    private String usernameLower;
 }
@@ -0,0 +1,32 @@
+package org.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * One row of the cross-node student cache invalidation log. A {@code null} student id invalidates
+ * every cached student.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "student_cache_invalidations")
+public class StudentCacheInvalidationRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String origin;
+
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,12 @@
+package org.example.backend.enums;
+
+/**
+ * Per-item outcome of a bulk request. Only the first three mean the change was applied.
+ */
+public enum BulkItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    NOT_FOUND,
+    CONFLICT
+}
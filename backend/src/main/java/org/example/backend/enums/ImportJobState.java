@@ -0,0 +1,8 @@
+package org.example.backend.enums;
+
+public enum ImportJobState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
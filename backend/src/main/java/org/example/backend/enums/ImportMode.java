@@ -0,0 +1,6 @@
+package org.example.backend.enums;
+
+public enum ImportMode {
+    INSERT,
+    UPSERT
+}
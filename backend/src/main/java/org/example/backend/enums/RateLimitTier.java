@@ -0,0 +1,13 @@
+package org.example.backend.enums;
+
+/**
+ * Request classes that get separate rate limit budgets, from cheapest to most expensive.
+ */
+public enum RateLimitTier {
+    /** Single-row reads, writes and polling */
+    READ,
+    /** Listings filtered by a search term */
+    SEARCH,
+    /** CSV import and export and bulk CRUD, which hold a connection for the whole batch */
+    BULK
+}
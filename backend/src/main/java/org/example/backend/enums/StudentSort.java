@@ -0,0 +1,10 @@
+package org.example.backend.enums;
+
+/**
+ * Sort keys supported by the keyset (cursor) listing. Every key is tie-broken by id so the
+ * (key, id) tuple is unique and can be used as a seek position.
+ */
+public enum StudentSort {
+    ID,
+    USERNAME
+}
@@ -0,0 +1,14 @@
+package org.example.backend.event;
+
+import org.example.backend.dto.StudentDto;
+import org.example.backend.enums.Level;
+
+/**
+ * One row of the {@code student_changes} log: a committed change to one student, made on any node.
+ *
+ * @param seq           position in the change sequence
+ * @param student       state after the change; for {@link StudentChangeEvent.Type#DELETED} the state that was removed
+ * @param previousLevel level before the change, only set for {@link StudentChangeEvent.Type#UPDATED}
+ */
+public record LoggedStudentChange(long seq, StudentChangeEvent.Type type, StudentDto student, Level previousLevel) {
+}
@@ -0,0 +1,64 @@
+package org.example.backend.event;
+
+import lombok.Value;
+import org.example.backend.dto.StudentDto;
+
+import java.util.List;
+
+/**
+ * Published by the student service whenever the roster changes. Listeners that keep derived,
+ * in-memory state (search index, caches, counters) should use
+ * {@code @TransactionalEventListener(fallbackExecution = true)} so they only see committed data.
+ */
+@Value
+public class StudentChangeEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        IMPORTED
+    }
+
+    Type type;
+
+    /** State after the change; for {@link Type#DELETED} the state that was removed. */
+    List<StudentDto> students;
+
+    /**
+     * State before the change, index-aligned with {@link #students}; only set for {@link Type#UPDATED}
+     * and empty otherwise.
+     */
+    List<StudentDto> previous;
+
+    public static StudentChangeEvent created(StudentDto student) {
+        return created(List.of(student));
+    }
+
+    public static StudentChangeEvent created(List<StudentDto> students) {
+        return new StudentChangeEvent(Type.CREATED, List.copyOf(students), List.of());
+    }
+
+    public static StudentChangeEvent updated(StudentDto previous, StudentDto current) {
+        return updated(List.of(previous), List.of(current));
+    }
+
+    public static StudentChangeEvent updated(List<StudentDto> previous, List<StudentDto> current) {
+        if (previous.size() != current.size()) {
+            throw new IllegalArgumentException("previous and current must have the same size");
+        }
+        return new StudentChangeEvent(Type.UPDATED, List.copyOf(current), List.copyOf(previous));
+    }
+
+    public static StudentChangeEvent deleted(StudentDto student) {
+        return deleted(List.of(student));
+    }
+
+    public static StudentChangeEvent deleted(List<StudentDto> students) {
+        return new StudentChangeEvent(Type.DELETED, List.copyOf(students), List.of());
+    }
+
+    public static StudentChangeEvent imported(List<StudentDto> students) {
+        return new StudentChangeEvent(Type.IMPORTED, List.copyOf(students), List.of());
+    }
+}
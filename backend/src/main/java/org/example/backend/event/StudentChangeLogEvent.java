@@ -0,0 +1,19 @@
+package org.example.backend.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published on every node as committed changes show up in the {@code student_changes} log, whoever made
+ * them, so listeners see the writes of the whole cluster. Each change is delivered once, in sequence
+ * order, and once this event is out every change up to {@link #highWaterMark} has been delivered. Listeners
+ * run on the polling thread and should only update in-memory state.
+ */
+@Value
+public class StudentChangeLogEvent {
+
+    List<LoggedStudentChange> changes;
+
+    long highWaterMark;
+}
@@ -5,11 +5,21 @@ import org.example.backend.dto.StudentCreateUpdateDto;
 import org.example.backend.dto.StudentDto;
 import org.example.backend.entity.Student;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public interface StudentMapper {
     StudentDto toDto(Student student);
+
+    // The id and version belong to the database and Hibernate; username_lower is generated from username
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "usernameLower", ignore = true)
     Student toEntity(StudentCreateUpdateDto dto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "usernameLower", ignore = true)
     void updateFromDto(StudentCreateUpdateDto dto, @MappingTarget Student student);
 }
@@ -0,0 +1,144 @@
+package org.example.backend.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.ImportJobStatus;
+import org.example.backend.dto.ImportReport;
+import org.example.backend.enums.ImportJobState;
+import org.example.backend.enums.ImportMode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The {@code student_import_jobs} table: the state of every import job, written by the node running it and
+ * read by whichever node a status poll lands on. The report is stored as JSON.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ImportJobRepository {
+
+    private static final String COLUMNS = "job_id, file_name, mode, state, submitted_at, started_at, finished_at, "
+            + "rows_processed, inserted, rejected, rows_per_second, report, error";
+    private static final String INSERT_SQL = "INSERT INTO student_import_jobs (" + COLUMNS + ", updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE student_import_jobs SET state = ?, started_at = ?, finished_at = ?, "
+            + "rows_processed = ?, inserted = ?, rejected = ?, rows_per_second = ?, report = ?, error = ?, updated_at = ? "
+            + "WHERE job_id = ?";
+    private static final String FIND_SQL = "SELECT " + COLUMNS + " FROM student_import_jobs WHERE job_id = ?";
+    private static final String DELETE_SQL = "DELETE FROM student_import_jobs WHERE job_id = ?";
+    private static final String FAIL_ABANDONED_SQL = "UPDATE student_import_jobs SET state = ?, error = ?, finished_at = ?, "
+            + "updated_at = ? WHERE finished_at IS NULL AND updated_at < ?";
+    private static final String PURGE_SQL = "DELETE FROM student_import_jobs WHERE finished_at < ?";
+
+    /** Job ids per {@code IN} list when refreshing heartbeats. */
+    private static final int IN_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void insert(ImportJobStatus job) {
+        Instant now = Instant.now();
+        jdbcTemplate.update(INSERT_SQL, job.getJobId(), job.getFileName(), job.getMode().name(), job.getState().name(),
+                timestamp(job.getSubmittedAt()), timestamp(job.getStartedAt()), timestamp(job.getFinishedAt()),
+                job.getRowsProcessed(), job.getInserted(), job.getRejected(), job.getRowsPerSecond(),
+                json(job.getReport()), job.getError(), timestamp(now));
+    }
+
+    /** Writes the state and progress of {@code job}; the file name, mode and submission time never change. */
+    public void update(ImportJobStatus job) {
+        jdbcTemplate.update(UPDATE_SQL, job.getState().name(), timestamp(job.getStartedAt()), timestamp(job.getFinishedAt()),
+                job.getRowsProcessed(), job.getInserted(), job.getRejected(), job.getRowsPerSecond(),
+                json(job.getReport()), job.getError(), timestamp(Instant.now()), job.getJobId());
+    }
+
+    public Optional<ImportJobStatus> findById(String jobId) {
+        return jdbcTemplate.query(FIND_SQL, this::status, jobId).stream().findFirst();
+    }
+
+    public void delete(String jobId) {
+        jdbcTemplate.update(DELETE_SQL, jobId);
+    }
+
+    /** Marks {@code jobIds} as still being worked on, so that {@link #failAbandoned} leaves them alone. */
+    public void touch(Collection<String> jobIds) {
+        List<String> ids = new ArrayList<>(jobIds);
+        Timestamp now = timestamp(Instant.now());
+        for (int from = 0; from < ids.size(); from += IN_BATCH_SIZE) {
+            List<String> batch = ids.subList(from, Math.min(from + IN_BATCH_SIZE, ids.size()));
+            String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+            List<Object> args = new ArrayList<>(batch.size() + 1);
+            args.add(now);
+            args.addAll(batch);
+            jdbcTemplate.update("UPDATE student_import_jobs SET updated_at = ? WHERE job_id IN (" + placeholders + ")",
+                    args.toArray());
+        }
+    }
+
+    /**
+     * Fails the unfinished jobs that no node has touched since {@code staleBefore}: the node running them
+     * went away. Returns how many there were.
+     */
+    public int failAbandoned(Instant staleBefore, String error) {
+        Timestamp now = timestamp(Instant.now());
+        return jdbcTemplate.update(FAIL_ABANDONED_SQL, ImportJobState.FAILED.name(), error, now, now, timestamp(staleBefore));
+    }
+
+    /** Deletes the jobs that finished before {@code cutoff}; returns how many there were. */
+    public int purge(Instant cutoff) {
+        return jdbcTemplate.update(PURGE_SQL, timestamp(cutoff));
+    }
+
+    private ImportJobStatus status(ResultSet rs, int row) throws SQLException {
+        String report = rs.getString("report");
+        return ImportJobStatus.builder()
+                .jobId(rs.getString("job_id"))
+                .fileName(rs.getString("file_name"))
+                .mode(ImportMode.valueOf(rs.getString("mode")))
+                .state(ImportJobState.valueOf(rs.getString("state")))
+                .submittedAt(instant(rs.getTimestamp("submitted_at")))
+                .startedAt(instant(rs.getTimestamp("started_at")))
+                .finishedAt(instant(rs.getTimestamp("finished_at")))
+                .rowsProcessed(rs.getLong("rows_processed"))
+                .inserted(rs.getLong("inserted"))
+                .rejected(rs.getLong("rejected"))
+                .rowsPerSecond(rs.getDouble("rows_per_second"))
+                .report(report == null ? null : report(report))
+                .error(rs.getString("error"))
+                .build();
+    }
+
+    private String json(ImportReport report) {
+        try {
+            return report == null ? null : objectMapper.writeValueAsString(report);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize import report", e);
+        }
+    }
+
+    private ImportReport report(String json) {
+        try {
+            return objectMapper.readValue(json, ImportReport.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored import report", e);
+        }
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.entity.Student;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC batch writes for bulk operations. {@code Student} uses {@code GenerationType.IDENTITY},
+ * which stops Hibernate from batching inserts, so bulk paths write through {@link JdbcTemplate}
+ * instead (MySQL additionally needs rewriteBatchedStatements=true to send one multi-row statement).
+ * Callers own the transaction and publish the change event, which also records the writes in the
+ * change log.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StudentBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO students (username, level, version) VALUES (?, ?, 0)";
+    private static final String UPDATE_SQL = "UPDATE students SET username = ?, level = ?, version = version + 1 WHERE id = ? AND version = ?";
+    private static final String DELETE_SQL = "DELETE FROM students WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts {@code students} in a single JDBC batch and assigns the generated ids and the initial
+     * version back to them.
+     */
+    public void insertAll(List<Student> students) {
+        if (students.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Student student = students.get(i);
+                        ps.setString(1, student.getUsername());
+                        ps.setString(2, student.getLevel().name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return students.size();
+                    }
+                },
+                keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < students.size() && i < keys.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            students.get(i).setId(((Number) key).longValue());
+        }
+        students.forEach(student -> student.setVersion(0L));
+    }
+
+    /**
+     * Writes the username and level of every student in {@code students} in a single JDBC batch and
+     * bumps each row's version, so bulk writes invalidate ETags the same way JPA updates do. Each student
+     * carries the version it was read at and a row is only written if it is still at that version.
+     * Returns, per student, whether it was written; written students get the new version assigned back,
+     * so {@code students} must not be managed entities.
+     */
+    public boolean[] updateAll(List<Student> students) {
+        if (students.isEmpty()) {
+            return new boolean[0];
+        }
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, students, students.size(), (ps, student) -> {
+            ps.setString(1, student.getUsername());
+            ps.setString(2, student.getLevel().name());
+            ps.setLong(3, student.getId());
+            ps.setLong(4, student.getVersion());
+        })[0];
+        boolean[] written = new boolean[students.size()];
+        for (int i = 0; i < written.length; i++) {
+            // Drivers that cannot count rows per statement report SUCCESS_NO_INFO
+            written[i] = counts[i] != 0;
+            if (written[i]) {
+                students.get(i).setVersion(students.get(i).getVersion() + 1);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Deletes {@code students} in a single JDBC batch.
+     */
+    public void deleteAll(List<Student> students) {
+        if (students.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, students, students.size(), (ps, student) -> ps.setLong(1, student.getId()));
+    }
+}
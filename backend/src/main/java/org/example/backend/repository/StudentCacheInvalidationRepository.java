@@ -0,0 +1,26 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.StudentCacheInvalidationRecord;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface StudentCacheInvalidationRepository extends JpaRepository<StudentCacheInvalidationRecord, Long> {
+
+    @Query("SELECT COALESCE(MAX(r.id), 0) FROM StudentCacheInvalidationRecord r")
+    long findMaxId();
+
+    List<StudentCacheInvalidationRecord> findByIdGreaterThanOrderById(Long afterId, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StudentCacheInvalidationRecord r WHERE r.createdAt < :cutoff")
+    int deleteOlderThan(Instant cutoff);
+}
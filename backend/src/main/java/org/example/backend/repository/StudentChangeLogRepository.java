@@ -0,0 +1,162 @@
+package org.example.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.enums.Level;
+import org.example.backend.event.LoggedStudentChange;
+import org.example.backend.event.StudentChangeEvent;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The {@code student_changes} log behind delta sync and the cluster-wide change stream. Each committed write
+ * appends one row per student; {@code seq} is an identity column, so writers take their values without
+ * waiting on each other. Values are assigned at insert but become visible at commit, so readers must not
+ * assume that everything below a visible value is visible too, see {@code StudentChangeLog}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StudentChangeLogRepository {
+
+    private static final String COLUMNS = "seq, student_id, change_type, username, level, previous_level, version";
+    private static final String INSERT_SQL = "INSERT INTO student_changes "
+            + "(student_id, change_type, username, level, previous_level, version, changed_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String MAX_SQL = "SELECT COALESCE(MAX(seq), 0) FROM student_changes";
+    private static final String SEQUENCES_SQL = "SELECT seq FROM student_changes WHERE seq > ? ORDER BY seq LIMIT ?";
+    private static final String BETWEEN_SQL = "SELECT " + COLUMNS + " FROM student_changes WHERE seq > ? AND seq <= ? ORDER BY seq";
+    private static final String PURGED_SQL = "SELECT purged_seq FROM student_change_purge WHERE id = 1";
+    private static final String PURGE_HORIZON_SQL = "SELECT MAX(seq) FROM student_changes WHERE changed_at < ?";
+    private static final String PURGE_SQL = "DELETE FROM student_changes WHERE seq <= ?";
+    private static final String MARK_PURGED_SQL = "UPDATE student_change_purge SET purged_seq = ? WHERE id = 1 AND purged_seq < ?";
+
+    /** Ids per {@code IN} list when looking for sequence values that were missing. */
+    private static final int IN_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Appends one row per student of {@code event}, in list order, in a single JDBC batch. Runs in the
+     * writing transaction, so the rows commit or roll back with the change itself.
+     */
+    public void append(StudentChangeEvent event) {
+        List<StudentDto> students = event.getStudents();
+        if (students.isEmpty()) {
+            return;
+        }
+        Timestamp changedAt = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StudentDto student = students.get(i);
+                ps.setLong(1, student.getId());
+                ps.setString(2, event.getType().name());
+                ps.setString(3, student.getUsername());
+                ps.setString(4, student.getLevel().name());
+                if (event.getPrevious().isEmpty()) {
+                    ps.setNull(5, Types.VARCHAR);
+                } else {
+                    ps.setString(5, event.getPrevious().get(i).getLevel().name());
+                }
+                if (student.getVersion() == null) {
+                    ps.setNull(6, Types.BIGINT);
+                } else {
+                    ps.setLong(6, student.getVersion());
+                }
+                ps.setTimestamp(7, changedAt);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return students.size();
+            }
+        });
+    }
+
+    /** The highest sequence value visible right now, or 0 for an empty log. */
+    public long maxSequence() {
+        return jdbcTemplate.queryForObject(MAX_SQL, Long.class);
+    }
+
+    /** Up to {@code limit} visible sequence values above {@code after}, ascending; reads the primary key only. */
+    public List<Long> findSequencesAfter(long after, int limit) {
+        return jdbcTemplate.queryForList(SEQUENCES_SQL, Long.class, after, limit);
+    }
+
+    /** Those of {@code sequences} that are visible now. */
+    public List<Long> findExistingSequences(Collection<Long> sequences) {
+        List<Long> ids = new ArrayList<>(sequences);
+        List<Long> found = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + IN_BATCH_SIZE, ids.size()));
+            String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+            found.addAll(jdbcTemplate.queryForList("SELECT seq FROM student_changes WHERE seq IN (" + placeholders + ")",
+                    Long.class, batch.toArray()));
+        }
+        return found;
+    }
+
+    /** Up to {@code limit} changes with a sequence value in {@code (after, upTo]}, in sequence order. */
+    public List<LoggedStudentChange> findBetween(long after, long upTo, int limit) {
+        return jdbcTemplate.query(BETWEEN_SQL + " LIMIT ?", StudentChangeLogRepository::change, after, upTo, limit);
+    }
+
+    /** Every change in {@code (after, upTo]}, in sequence order, read {@value StudentRepository#STREAM_FETCH_SIZE} at a time. */
+    public void forEachBetween(long after, long upTo, Consumer<LoggedStudentChange> action) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(BETWEEN_SQL);
+            ps.setFetchSize(StudentRepository.STREAM_FETCH_SIZE);
+            ps.setLong(1, after);
+            ps.setLong(2, upTo);
+            return ps;
+        }, (RowCallbackHandler) rs -> action.accept(change(rs, 0)));
+    }
+
+    /** Changes at or below this value have been purged. */
+    public long purgedSequence() {
+        return jdbcTemplate.queryForObject(PURGED_SQL, Long.class);
+    }
+
+    /**
+     * Deletes the changes made before {@code cutoff} and moves the purge horizon past them. Returns the
+     * new horizon, or 0 if there was nothing to purge.
+     */
+    @Transactional
+    public long purge(Instant cutoff) {
+        Long horizon = jdbcTemplate.queryForObject(PURGE_HORIZON_SQL, Long.class, Timestamp.from(cutoff));
+        if (horizon == null) {
+            return 0;
+        }
+        jdbcTemplate.update(MARK_PURGED_SQL, horizon, horizon);
+        jdbcTemplate.update(PURGE_SQL, horizon);
+        return horizon;
+    }
+
+    private static LoggedStudentChange change(ResultSet rs, int row) throws SQLException {
+        long version = rs.getLong("version");
+        boolean unversioned = rs.wasNull();
+        StudentDto student = StudentDto.builder()
+                .id(rs.getLong("student_id"))
+                .username(rs.getString("username"))
+                .level(Level.valueOf(rs.getString("level")))
+                .version(unversioned ? null : version)
+                .build();
+        String previousLevel = rs.getString("previous_level");
+        return new LoggedStudentChange(rs.getLong("seq"), StudentChangeEvent.Type.valueOf(rs.getString("change_type")),
+                student, previousLevel == null ? null : Level.valueOf(previousLevel));
+    }
+}
@@ -1,23 +1,123 @@
 package org.example.backend.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.backend.entity.Student;
 import org.example.backend.enums.Level;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
-    Page<Student> findByUsernameContainingIgnoreCase(String username, Pageable pageable);
+    /** Rows per round trip when streaming; MySQL needs useCursorFetch=true to honour a positive fetch size. */
+    int STREAM_FETCH_SIZE = 1000;
+
+    // Level-filtered variants are separate queries rather than an "(:level IS NULL OR ...)" predicate so
+    // that the level indexes stay usable.
     Page<Student> findByLevel(Level level, Pageable pageable);
-    Page<Student> findByUsernameContainingIgnoreCaseAndLevel(String username, Level level, Pageable pageable);
 
-    @Query("SELECT s FROM Student s WHERE (:searchTerm IS NULL OR CAST(s.id AS string) = :searchTerm OR LOWER(s.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<Student> findByIdOrUsernameContainingIgnoreCase(@Param("searchTerm") String searchTerm, Pageable pageable);
+    // Slice variants fetch one row beyond the page to learn hasNext and never issue a COUNT
+    Slice<Student> findAllBy(Pageable pageable);
+
+    Slice<Student> findSliceByLevel(Level level, Pageable pageable);
+
+    long countByLevel(Level level);
+
+    // One query per StudentSearchPlan strategy. Values are lower-cased, LIKE-escaped with '!' and matched
+    // against the indexed username_lower column. A prefix is a range scan of that index; a substring
+    // match ('%term%') cannot use it and is kept for terms that really need it.
+    @Query("SELECT s FROM Student s WHERE s.usernameLower LIKE CONCAT(:prefix, '%') ESCAPE '!'")
+    Slice<Student> findSliceByUsernamePrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    @Query("SELECT s FROM Student s WHERE s.level = :level AND s.usernameLower LIKE CONCAT(:prefix, '%') ESCAPE '!'")
+    Slice<Student> findSliceByUsernamePrefixAndLevel(@Param("prefix") String prefix, @Param("level") Level level, Pageable pageable);
+
+    @Query("SELECT s FROM Student s WHERE s.usernameLower LIKE CONCAT('%', :term, '%') ESCAPE '!'")
+    Slice<Student> findSliceByUsernameContaining(@Param("term") String term, Pageable pageable);
+
+    @Query("SELECT s FROM Student s WHERE s.level = :level AND s.usernameLower LIKE CONCAT('%', :term, '%') ESCAPE '!'")
+    Slice<Student> findSliceByUsernameContainingAndLevel(@Param("term") String term, @Param("level") Level level, Pageable pageable);
+
+    @Query("SELECT COUNT(s) FROM Student s WHERE s.usernameLower LIKE CONCAT(:prefix, '%') ESCAPE '!'")
+    long countByUsernamePrefix(@Param("prefix") String prefix);
+
+    @Query("SELECT COUNT(s) FROM Student s WHERE s.level = :level AND s.usernameLower LIKE CONCAT(:prefix, '%') ESCAPE '!'")
+    long countByUsernamePrefixAndLevel(@Param("prefix") String prefix, @Param("level") Level level);
+
+    @Query("SELECT COUNT(s) FROM Student s WHERE s.usernameLower LIKE CONCAT('%', :term, '%') ESCAPE '!'")
+    long countByUsernameContaining(@Param("term") String term);
+
+    @Query("SELECT COUNT(s) FROM Student s WHERE s.level = :level AND s.usernameLower LIKE CONCAT('%', :term, '%') ESCAPE '!'")
+    long countByUsernameContainingAndLevel(@Param("term") String term, @Param("level") Level level);
+
+    // An all-digit term also matches the student with that id. The OR keeps these off the plain queries
+    // above, whose plans it would spoil; pattern is the plan's LIKE pattern and level may be null.
+    @Query("SELECT s FROM Student s WHERE (:level IS NULL OR s.level = :level) " +
+            "AND (s.usernameLower LIKE :pattern ESCAPE '!' OR s.id = :id)")
+    Slice<Student> findSliceByUsernameLikeOrId(@Param("pattern") String pattern, @Param("id") Long id,
+                                               @Param("level") Level level, Pageable pageable);
+
+    @Query("SELECT COUNT(s) FROM Student s WHERE (:level IS NULL OR s.level = :level) " +
+            "AND (s.usernameLower LIKE :pattern ESCAPE '!' OR s.id = :id)")
+    long countByUsernameLikeOrId(@Param("pattern") String pattern, @Param("id") Long id, @Param("level") Level level);
+
+    /** One row per non-empty level: {@code [Level, Long]}. */
+    @Query("SELECT s.level, COUNT(s) FROM Student s GROUP BY s.level")
+    List<Object[]> countGroupByLevel();
+
+    @Query("SELECT s.username FROM Student s WHERE s.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /** Case-insensitive username match through the username_lower index; pass lower-cased usernames. */
+    List<Student> findByUsernameLowerIn(Collection<String> usernames);
+
+    // Keyset (seek) queries: no OFFSET and no COUNT, the previous slice's last (key, id) tuple is the lower bound.
+    // pattern is the LIKE pattern of a prefix or substring StudentSearchPlan, null for no username filter, and
+    // id the plan's id, null unless the term is all digits.
+    @Query("SELECT s FROM Student s WHERE (:level IS NULL OR s.level = :level) AND (:pattern IS NULL OR s.usernameLower LIKE :pattern ESCAPE '!' OR s.id = :id) " +
+            "AND (:afterId IS NULL OR s.id > :afterId) ORDER BY s.id")
+    List<Student> findNextOrderById(@Param("pattern") String pattern, @Param("id") Long id, @Param("level") Level level,
+                                    @Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT s FROM Student s WHERE (:level IS NULL OR s.level = :level) AND (:pattern IS NULL OR s.usernameLower LIKE :pattern ESCAPE '!' OR s.id = :id) " +
+            "AND (:afterUsername IS NULL OR s.username > :afterUsername OR (s.username = :afterUsername AND s.id > :afterId)) ORDER BY s.username, s.id")
+    List<Student> findNextOrderByUsername(@Param("pattern") String pattern, @Param("id") Long id, @Param("level") Level level,
+                                          @Param("afterUsername") String afterUsername, @Param("afterId") Long afterId,
+                                          Limit limit);
+
+    /**
+     * Forward-only cursor over every student in id order. Must be consumed inside a (read-only)
+     * transaction and closed; entities are loaded read-only so Hibernate keeps no snapshots for them.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT s FROM Student s ORDER BY s.id")
+    Stream<Student> streamAllOrderById();
 
-    @Query("SELECT s FROM Student s WHERE (:level IS NULL OR s.level = :level) AND (:searchTerm IS NULL OR CAST(s.id AS string) = :searchTerm OR LOWER(s.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<Student> findBySearchTermAndLevel(@Param("searchTerm") String searchTerm, @Param("level") Level level, Pageable pageable);
+    /** {@link #streamAllOrderById()} restricted like the cursor queries; {@code null} filters match everything. */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT s FROM Student s WHERE (:level IS NULL OR s.level = :level) " +
+            "AND (:pattern IS NULL OR s.usernameLower LIKE :pattern ESCAPE '!' OR s.id = :id) ORDER BY s.id")
+    Stream<Student> streamMatchingOrderById(@Param("pattern") String pattern, @Param("id") Long id, @Param("level") Level level);
 }
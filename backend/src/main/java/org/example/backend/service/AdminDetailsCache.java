@@ -0,0 +1,35 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.config.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cached principal lookup for token-authenticated requests, so a valid JWT does not cost an
+ * {@code admins} query on every call. Login keeps using {@link AdminDetailsService} directly because it
+ * needs the current password hash. Anything that creates, renames, re-passwords or deletes an admin
+ * must call {@link #evict(String)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdminDetailsCache {
+
+    private final UserDetailsService userDetailsService;
+
+    @Cacheable(cacheNames = CacheConfig.ADMIN_DETAILS, key = "#username")
+    public UserDetails load(String username) {
+        UserDetails details = userDetailsService.loadUserByUsername(username);
+        // JWT requests never check the password, so the hash is not kept in the cache
+        return new User(details.getUsername(), "", details.isEnabled(), details.isAccountNonExpired(),
+                details.isCredentialsNonExpired(), details.isAccountNonLocked(), details.getAuthorities());
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.ADMIN_DETAILS, key = "#username")
+    public void evict(String username) {
+    }
+}
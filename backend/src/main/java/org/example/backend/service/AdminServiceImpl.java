@@ -29,6 +29,7 @@ public class AdminServiceImpl implements AdminService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
+    private final AdminDetailsCache adminDetailsCache;
 
     @Override
     public void register(AdminRegistrationRequest request) {
@@ -39,6 +40,7 @@ public class AdminServiceImpl implements AdminService {
         admin.setUsername(request.getUsername());
         admin.setPassword(passwordEncoder.encode(request.getPassword()));
         adminRepository.save(admin);
+        adminDetailsCache.evict(admin.getUsername());
     }
 
     @Override
@@ -0,0 +1,10 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.ImportJobStatus;
+import org.example.backend.enums.ImportMode;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ImportJobService {
+    ImportJobStatus submit(MultipartFile file, ImportMode mode);
+    ImportJobStatus getStatus(String jobId);
+}
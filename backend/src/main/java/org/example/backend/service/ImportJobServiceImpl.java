@@ -0,0 +1,256 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.ImportJobStatus;
+import org.example.backend.dto.ImportReport;
+import org.example.backend.enums.ImportJobState;
+import org.example.backend.enums.ImportMode;
+import org.example.backend.exception.ResourceNotFoundException;
+import org.example.backend.exception.ServiceUnavailableException;
+import org.example.backend.repository.ImportJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs CSV imports in the background. The upload is spooled to a temporary file so the request
+ * thread returns immediately, and jobs run on a small fixed pool with a bounded queue so imports can
+ * never take more than {@code app.import.workers} database connections.
+ * <p>
+ * A job runs on the node that took the upload, but its state lives in {@link ImportJobRepository}, so a
+ * status poll can be answered by any node. The running node writes it at every state change and at most
+ * every {@value #PROGRESS_WRITE_INTERVAL_MILLIS} ms of progress, and answers polls for its own jobs from
+ * memory. Unfinished jobs are touched on every {@link #maintain()} run; one left untouched for
+ * {@code app.import.stale-after} belonged to a node that went away and is marked failed.
+ */
+@Service
+public class ImportJobServiceImpl implements ImportJobService, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobServiceImpl.class);
+
+    static final long PROGRESS_WRITE_INTERVAL_MILLIS = 1000;
+
+    private final StudentService studentService;
+    private final ImportJobRepository jobRepository;
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+    private final Duration staleAfter;
+    /** The jobs submitted to this node, until they are pruned. */
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ImportJobServiceImpl(StudentService studentService,
+                                ImportJobRepository jobRepository,
+                                Environment environment,
+                                @Value("${app.import.workers:2}") int workers,
+                                @Value("${app.import.queue-capacity:10}") int queueCapacity,
+                                @Value("${app.import.job-retention:PT1H}") Duration retention,
+                                @Value("${app.import.stale-after:PT10M}") Duration staleAfter) {
+        this.studentService = studentService;
+        this.jobRepository = jobRepository;
+        this.retention = retention;
+        this.staleAfter = staleAfter;
+        // In virtual-thread mode jobs still run at most `workers` at a time: the pool is the bulkhead
+        // that keeps imports from taking more connections, only the carrier threads change
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("import-").getVirtualThreadFactory()
+                : new CustomizableThreadFactory("import-");
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public ImportJobStatus submit(MultipartFile file, ImportMode mode) {
+        Path spool;
+        try {
+            spool = Files.createTempFile("student-import-", ".csv");
+            file.transferTo(spool);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store uploaded CSV", e);
+        }
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(), mode, spool);
+        try {
+            jobRepository.insert(job.toStatus());
+        } catch (RuntimeException e) {
+            deleteQuietly(spool);
+            throw e;
+        }
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            jobRepository.delete(job.id);
+            deleteQuietly(spool);
+            throw new ServiceUnavailableException("Too many imports in progress, please retry later");
+        }
+        return job.toStatus();
+    }
+
+    @Override
+    public ImportJobStatus getStatus(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job != null) {
+            return job.toStatus();
+        }
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job not found with id " + jobId));
+    }
+
+    private void run(ImportJob job) {
+        job.startedAt = Instant.now();
+        job.state = ImportJobState.RUNNING;
+        save(job);
+        try (InputStream csv = Files.newInputStream(job.spool)) {
+            job.report = studentService.importStudents(csv, job.mode, (rowsProcessed, inserted, rejected) -> {
+                job.progress(rowsProcessed, inserted, rejected);
+                long now = System.currentTimeMillis();
+                if (now - job.savedAtMillis >= PROGRESS_WRITE_INTERVAL_MILLIS) {
+                    save(job);
+                }
+            });
+            job.state = ImportJobState.COMPLETED;
+        } catch (Exception e) {
+            logger.error("Import job {} failed", job.id, e);
+            job.error = e.getMessage();
+            job.state = ImportJobState.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+            deleteQuietly(job.spool);
+            save(job);
+        }
+    }
+
+    /** A failed write only delays what other nodes see; the job itself goes on. */
+    private void save(ImportJob job) {
+        job.savedAtMillis = System.currentTimeMillis();
+        try {
+            jobRepository.update(job.toStatus());
+        } catch (RuntimeException e) {
+            logger.warn("Could not store the state of import job {}", job.id, e);
+        }
+    }
+
+    /**
+     * Keeps this node's unfinished jobs alive in the table, fails the ones whose node went away and drops
+     * jobs that finished more than {@code app.import.job-retention} ago, here and in the table. Runs on
+     * every node; {@code app.import.stale-after} must be well above the interval.
+     */
+    @Scheduled(fixedDelayString = "${app.import.maintenance-interval:PT1M}")
+    public void maintain() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+        List<String> unfinished = jobs.values().stream().filter(job -> job.finishedAt == null).map(job -> job.id).toList();
+        if (!unfinished.isEmpty()) {
+            jobRepository.touch(unfinished);
+        }
+        int abandoned = jobRepository.failAbandoned(Instant.now().minus(staleAfter), "Import interrupted: the node running it stopped");
+        if (abandoned > 0) {
+            logger.warn("Marked {} import jobs failed whose node stopped", abandoned);
+        }
+        jobRepository.purge(cutoff);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete import spool file {}", path, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        for (ImportJob job : jobs.values()) {
+            if (job.state == ImportJobState.QUEUED) {
+                job.error = "Import interrupted: the node running it stopped";
+                job.state = ImportJobState.FAILED;
+                job.finishedAt = Instant.now();
+                deleteQuietly(job.spool);
+                save(job);
+            }
+        }
+    }
+
+    private static final class ImportJob {
+        final String id;
+        final String fileName;
+        final ImportMode mode;
+        final Path spool;
+        final Instant submittedAt = Instant.now();
+        volatile ImportJobState state = ImportJobState.QUEUED;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile long rowsProcessed;
+        volatile long inserted;
+        volatile long rejected;
+        volatile ImportReport report;
+        volatile String error;
+        volatile long savedAtMillis;
+
+        ImportJob(String id, String fileName, ImportMode mode, Path spool) {
+            this.id = id;
+            this.fileName = fileName;
+            this.mode = mode;
+            this.spool = spool;
+        }
+
+        void progress(long rowsProcessed, long inserted, long rejected) {
+            this.rowsProcessed = rowsProcessed;
+            this.inserted = inserted;
+            this.rejected = rejected;
+        }
+
+        ImportJobStatus toStatus() {
+            ImportReport finalReport = report;
+            long rows = finalReport != null ? finalReport.getTotalRows() : rowsProcessed;
+            double rowsPerSecond;
+            if (finalReport != null) {
+                rowsPerSecond = finalReport.getRowsPerSecond();
+            } else if (startedAt != null) {
+                long millis = Math.max(1, Duration.between(startedAt, Instant.now()).toMillis());
+                rowsPerSecond = rows * 1000.0 / millis;
+            } else {
+                rowsPerSecond = 0;
+            }
+            return ImportJobStatus.builder()
+                    .jobId(id)
+                    .state(state)
+                    .fileName(fileName)
+                    .mode(mode)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .rowsProcessed(rows)
+                    .inserted(finalReport != null ? finalReport.getInserted() : inserted)
+                    .rejected(finalReport != null ? finalReport.getRejected() : rejected)
+                    .rowsPerSecond(rowsPerSecond)
+                    .report(finalReport)
+                    .error(error)
+                    .build();
+        }
+    }
+}
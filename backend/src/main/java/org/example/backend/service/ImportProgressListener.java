@@ -0,0 +1,12 @@
+package org.example.backend.service;
+
+/**
+ * Receives running totals from {@link StudentImporter} after every committed chunk.
+ */
+@FunctionalInterface
+public interface ImportProgressListener {
+
+    ImportProgressListener NONE = (rowsProcessed, inserted, rejected) -> { };
+
+    void onProgress(long rowsProcessed, long inserted, long rejected);
+}
@@ -0,0 +1,37 @@
+package org.example.backend.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for a broadcast transport: delivers synchronously to every subscriber of this
+ * instance. With a single backend node this only keeps the local cache consistent; tests share one
+ * instance between several caches to simulate a cluster.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.students.transport", havingValue = "local", matchIfMissing = true)
+public class InProcessStudentCacheInvalidationTransport implements StudentCacheInvalidationTransport {
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String origin, Invalidation invalidation) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.origin().equals(origin)) {
+                subscriber.listener().accept(invalidation);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(String origin, Consumer<Invalidation> listener) {
+        subscribers.add(new Subscriber(origin, listener));
+    }
+
+    private record Subscriber(String origin, Consumer<Invalidation> listener) {
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.backend.service;
+
+import org.example.backend.entity.StudentCacheInvalidationRecord;
+import org.example.backend.repository.StudentCacheInvalidationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Database-backed transport for clusters without a message broker. Invalidations are appended to the
+ * {@code student_cache_invalidations} table and every node polls for rows newer than the last one it
+ * has seen, so a remote cache is stale for at most one poll interval after the invalidation commits.
+ * <p>
+ * Identity values are assigned at insert but become visible at commit, so a lower id can show up after
+ * a higher one has been read. Ids skipped by a poll are therefore remembered as gaps and looked up again
+ * by every poll until they appear or {@code gap-timeout} passes (rolled back inserts leave gaps for good).
+ * Should more than {@value #MAX_TRACKED_GAPS} be open, the node clears its whole cache instead.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.students.transport", havingValue = "jdbc")
+public class JdbcStudentCacheInvalidationTransport implements StudentCacheInvalidationTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcStudentCacheInvalidationTransport.class);
+
+    private static final int POLL_BATCH_SIZE = 1000;
+    static final int MAX_TRACKED_GAPS = 10_000;
+
+    private final StudentCacheInvalidationRepository repository;
+    private final TransactionTemplate requiresNew;
+    private final Duration retention;
+    private final Duration gapTimeout;
+    private final Map<String, Consumer<Invalidation>> listeners = new ConcurrentHashMap<>();
+    private volatile Long lastSeenId;
+
+    /** Skipped ids and when they were first missed; only touched by {@link #poll()}. */
+    private final Map<Long, Instant> gaps = new HashMap<>();
+
+    public JdbcStudentCacheInvalidationTransport(StudentCacheInvalidationRepository repository,
+                                                 PlatformTransactionManager transactionManager,
+                                                 @Value("${app.cache.students.invalidation-retention:PT10M}") Duration retention,
+                                                 @Value("${app.cache.students.gap-timeout:PT1M}") Duration gapTimeout) {
+        this.repository = repository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.retention = retention;
+        this.gapTimeout = gapTimeout;
+    }
+
+    @Override
+    public void publish(String origin, Invalidation invalidation) {
+        Instant now = Instant.now();
+        List<StudentCacheInvalidationRecord> records = new ArrayList<>();
+        if (invalidation.all()) {
+            records.add(new StudentCacheInvalidationRecord(null, origin, null, now));
+        } else {
+            invalidation.studentIds().forEach(id -> records.add(new StudentCacheInvalidationRecord(null, origin, id, now)));
+        }
+        // Publishing happens after the student change committed, so it needs a transaction of its own
+        requiresNew.executeWithoutResult(status -> repository.saveAll(records));
+    }
+
+    @Override
+    public void subscribe(String origin, Consumer<Invalidation> listener) {
+        listeners.put(origin, listener);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.students.poll-interval:PT1S}")
+    public synchronized void poll() {
+        if (lastSeenId == null) {
+            // Anything written before this node started cannot be in its cache
+            lastSeenId = repository.findMaxId();
+            return;
+        }
+        Instant now = Instant.now();
+        if (!gaps.isEmpty()) {
+            List<StudentCacheInvalidationRecord> late = repository.findAllById(gaps.keySet());
+            late.forEach(record -> gaps.remove(record.getId()));
+            deliver(late);
+            Instant cutoff = now.minus(gapTimeout);
+            gaps.values().removeIf(missedAt -> missedAt.isBefore(cutoff));
+        }
+        List<StudentCacheInvalidationRecord> batch;
+        do {
+            batch = repository.findByIdGreaterThanOrderById(lastSeenId, Limit.of(POLL_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return;
+            }
+            boolean overflow = false;
+            long expected = lastSeenId + 1;
+            for (StudentCacheInvalidationRecord record : batch) {
+                for (long id = expected; id < record.getId() && !overflow; id++) {
+                    overflow = gaps.size() >= MAX_TRACKED_GAPS;
+                    if (!overflow) {
+                        gaps.put(id, now);
+                    }
+                }
+                expected = record.getId() + 1;
+            }
+            if (overflow) {
+                // Cannot tell which of the skipped ids will still commit; drop everything instead
+                logger.warn("More than {} student cache invalidations missing, clearing the cache", MAX_TRACKED_GAPS);
+                gaps.clear();
+                listeners.values().forEach(listener -> listener.accept(Invalidation.everything()));
+            }
+            deliver(batch);
+            lastSeenId = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == POLL_BATCH_SIZE);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.students.invalidation-retention:PT10M}")
+    public void purge() {
+        int deleted = repository.deleteOlderThan(Instant.now().minus(retention));
+        if (deleted > 0) {
+            logger.debug("Purged {} student cache invalidation rows", deleted);
+        }
+    }
+
+    private void deliver(List<StudentCacheInvalidationRecord> batch) {
+        Map<String, List<StudentCacheInvalidationRecord>> byOrigin = batch.stream()
+                .collect(Collectors.groupingBy(StudentCacheInvalidationRecord::getOrigin));
+        listeners.forEach((subscriber, listener) -> {
+            List<Long> ids = new ArrayList<>();
+            boolean all = false;
+            for (Map.Entry<String, List<StudentCacheInvalidationRecord>> entry : byOrigin.entrySet()) {
+                if (entry.getKey().equals(subscriber)) {
+                    continue;
+                }
+                for (StudentCacheInvalidationRecord record : entry.getValue()) {
+                    if (record.getStudentId() == null) {
+                        all = true;
+                    } else {
+                        ids.add(record.getStudentId());
+                    }
+                }
+            }
+            if (all) {
+                listener.accept(Invalidation.everything());
+            } else if (!ids.isEmpty()) {
+                listener.accept(Invalidation.of(ids));
+            }
+        });
+    }
+}
@@ -0,0 +1,272 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.BulkItemResult;
+import org.example.backend.dto.StudentBulkRequest;
+import org.example.backend.dto.StudentBulkResponse;
+import org.example.backend.dto.StudentBulkUpdate;
+import org.example.backend.dto.StudentCreateUpdateDto;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.entity.Student;
+import org.example.backend.enums.BulkItemStatus;
+import org.example.backend.enums.BulkOperation;
+import org.example.backend.event.StudentChangeEvent;
+import org.example.backend.mapper.StudentMapper;
+import org.example.backend.repository.StudentBatchRepository;
+import org.example.backend.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Applies a {@link StudentBulkRequest}. Each operation is split into chunks; a chunk loads its targets
+ * with one {@code IN} query per kind, writes with one JDBC batch and commits in its own transaction.
+ * Items that cannot be applied (unknown id, username taken, stale version) are reported instead of failing the request.
+ */
+@Component
+public class StudentBulkProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentBulkProcessor.class);
+
+    private final StudentRepository studentRepository;
+    private final StudentBatchRepository studentBatchRepository;
+    private final StudentMapper studentMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public StudentBulkProcessor(StudentRepository studentRepository,
+                                StudentBatchRepository studentBatchRepository,
+                                StudentMapper studentMapper,
+                                TransactionTemplate transactionTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${app.bulk.chunk-size:1000}") int chunkSize) {
+        this.studentRepository = studentRepository;
+        this.studentBatchRepository = studentBatchRepository;
+        this.studentMapper = studentMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Runs deletes, then updates, then creates, so a username freed earlier in the request can be
+     * reused later in it. Committed chunks stay committed if a later chunk fails.
+     */
+    public StudentBulkResponse process(StudentBulkRequest request) {
+        List<BulkItemResult> results = new ArrayList<>();
+        // Usernames (lower-cased) assigned by this request so far, to catch duplicates within it
+        Set<String> claimed = new HashSet<>();
+        apply(BulkOperation.DELETE, request.getDeletes(), Function.identity(), this::deleteChunk, claimed, results);
+        apply(BulkOperation.UPDATE, request.getUpdates(), StudentBulkUpdate::getId, this::updateChunk, claimed, results);
+        apply(BulkOperation.CREATE, request.getCreates(), create -> null, this::createChunk, claimed, results);
+
+        StudentBulkResponse response = StudentBulkResponse.builder()
+                .created(count(results, BulkItemStatus.CREATED))
+                .updated(count(results, BulkItemStatus.UPDATED))
+                .deleted(count(results, BulkItemStatus.DELETED))
+                .results(results)
+                .build();
+        response.setFailed(results.size() - response.getCreated() - response.getUpdated() - response.getDeleted());
+        logger.info("Bulk request applied: {} created, {} updated, {} deleted, {} failed",
+                response.getCreated(), response.getUpdated(), response.getDeleted(), response.getFailed());
+        return response;
+    }
+
+    private <T> void apply(BulkOperation operation, List<T> values, Function<T, Long> idOf,
+                           ChunkWriter<T> writer, Set<String> claimed, List<BulkItemResult> results) {
+        if (values == null) {
+            return;
+        }
+        for (int from = 0; from < values.size(); from += chunkSize) {
+            List<Item<T>> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + chunkSize, values.size()); i++) {
+                chunk.add(new Item<>(i, values.get(i)));
+            }
+            try {
+                results.addAll(transactionTemplate.execute(status -> writer.write(chunk, claimed)));
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent writer took a username after we checked; isolate the offending items
+                logger.debug("Bulk {} chunk failed, retrying item by item", operation, e);
+                for (Item<T> item : chunk) {
+                    try {
+                        results.addAll(transactionTemplate.execute(status -> writer.write(List.of(item), claimed)));
+                    } catch (DataIntegrityViolationException itemFailure) {
+                        results.add(failure(operation, item.index(), idOf.apply(item.value()),
+                                BulkItemStatus.CONFLICT, "Username already exists"));
+                    }
+                }
+            }
+        }
+    }
+
+    private List<BulkItemResult> deleteChunk(List<Item<Long>> chunk, Set<String> claimed) {
+        Map<Long, Student> existing = byId(studentRepository.findAllById(chunk.stream().map(Item::value).toList()));
+        Set<Long> seen = new HashSet<>();
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        List<Student> removed = new ArrayList<>();
+        List<StudentDto> deleted = new ArrayList<>();
+        for (Item<Long> item : chunk) {
+            Student student = existing.get(item.value());
+            if (!seen.add(item.value())) {
+                results.add(duplicateId(BulkOperation.DELETE, item.index(), item.value()));
+            } else if (student == null) {
+                results.add(failure(BulkOperation.DELETE, item.index(), item.value(), BulkItemStatus.NOT_FOUND,
+                        "Student not found with id " + item.value()));
+            } else {
+                removed.add(student);
+                deleted.add(studentMapper.toDto(student));
+                results.add(success(BulkOperation.DELETE, item.index(), item.value(), BulkItemStatus.DELETED));
+            }
+        }
+        studentBatchRepository.deleteAll(removed);
+        if (!deleted.isEmpty()) {
+            eventPublisher.publishEvent(StudentChangeEvent.deleted(deleted));
+        }
+        return results;
+    }
+
+    private List<BulkItemResult> updateChunk(List<Item<StudentBulkUpdate>> chunk, Set<String> claimed) {
+        Map<Long, Student> existing = byId(studentRepository.findAllById(
+                chunk.stream().map(item -> item.value().getId()).toList()));
+        Map<String, Long> owners = owners(chunk.stream().map(item -> item.value().getUsername()).toList());
+        Set<String> chunkClaims = new HashSet<>();
+        Set<Long> seen = new HashSet<>();
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        List<StudentDto> previous = new ArrayList<>();
+        List<Student> changed = new ArrayList<>();
+        List<Integer> changedResults = new ArrayList<>();
+        for (Item<StudentBulkUpdate> item : chunk) {
+            StudentBulkUpdate update = item.value();
+            Student student = existing.get(update.getId());
+            String key = key(update.getUsername());
+            Long owner = owners.get(key);
+            if (!seen.add(update.getId())) {
+                results.add(duplicateId(BulkOperation.UPDATE, item.index(), update.getId()));
+            } else if (student == null) {
+                results.add(failure(BulkOperation.UPDATE, item.index(), update.getId(), BulkItemStatus.NOT_FOUND,
+                        "Student not found with id " + update.getId()));
+            } else if (update.getVersion() != null && !update.getVersion().equals(student.getVersion())) {
+                results.add(failure(BulkOperation.UPDATE, item.index(), update.getId(), BulkItemStatus.CONFLICT,
+                        "Student " + update.getId() + " is at version " + student.getVersion() + ", not " + update.getVersion()));
+            } else if ((owner != null && !owner.equals(update.getId())) || claimed.contains(key) || !chunkClaims.add(key)) {
+                results.add(failure(BulkOperation.UPDATE, item.index(), update.getId(), BulkItemStatus.CONFLICT,
+                        "Username " + update.getUsername() + " already exists"));
+            } else {
+                previous.add(studentMapper.toDto(student));
+                changed.add(Student.builder()
+                        .id(student.getId())
+                        .username(update.getUsername())
+                        .level(update.getLevel())
+                        .version(student.getVersion())
+                        .build());
+                changedResults.add(results.size());
+                results.add(success(BulkOperation.UPDATE, item.index(), update.getId(), BulkItemStatus.UPDATED));
+            }
+        }
+        boolean[] written = studentBatchRepository.updateAll(changed);
+        List<StudentDto> before = new ArrayList<>();
+        List<StudentDto> after = new ArrayList<>();
+        for (int i = 0; i < written.length; i++) {
+            if (written[i]) {
+                before.add(previous.get(i));
+                after.add(studentMapper.toDto(changed.get(i)));
+            } else {
+                // Changed or deleted by another writer since the chunk read it
+                BulkItemResult result = results.get(changedResults.get(i));
+                results.set(changedResults.get(i), failure(BulkOperation.UPDATE, result.getIndex(), result.getId(),
+                        BulkItemStatus.CONFLICT, "Student " + result.getId() + " was modified concurrently"));
+            }
+        }
+        if (!after.isEmpty()) {
+            eventPublisher.publishEvent(StudentChangeEvent.updated(before, after));
+        }
+        claimed.addAll(chunkClaims);
+        return results;
+    }
+
+    private List<BulkItemResult> createChunk(List<Item<StudentCreateUpdateDto>> chunk, Set<String> claimed) {
+        Map<String, Long> owners = owners(chunk.stream().map(item -> item.value().getUsername()).toList());
+        Set<String> chunkClaims = new HashSet<>();
+        List<Item<StudentCreateUpdateDto>> accepted = new ArrayList<>();
+        List<Student> students = new ArrayList<>();
+        List<BulkItemResult> rejected = new ArrayList<>();
+        for (Item<StudentCreateUpdateDto> item : chunk) {
+            String key = key(item.value().getUsername());
+            if (owners.containsKey(key) || claimed.contains(key) || !chunkClaims.add(key)) {
+                rejected.add(failure(BulkOperation.CREATE, item.index(), null, BulkItemStatus.CONFLICT,
+                        "Username " + item.value().getUsername() + " already exists"));
+            } else {
+                accepted.add(item);
+                students.add(studentMapper.toEntity(item.value()));
+            }
+        }
+        studentBatchRepository.insertAll(students);
+        if (!students.isEmpty()) {
+            eventPublisher.publishEvent(StudentChangeEvent.created(students.stream().map(studentMapper::toDto).toList()));
+        }
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            results.add(success(BulkOperation.CREATE, accepted.get(i).index(), students.get(i).getId(), BulkItemStatus.CREATED));
+        }
+        results.addAll(rejected);
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        claimed.addAll(chunkClaims);
+        return results;
+    }
+
+    /** Lower-cased username to owning student id, for the given usernames that already exist. */
+    private Map<String, Long> owners(List<String> usernames) {
+        Map<String, Long> owners = new HashMap<>();
+        studentRepository.findByUsernameLowerIn(usernames.stream().map(StudentBulkProcessor::key).toList())
+                .forEach(student -> owners.put(key(student.getUsername()), student.getId()));
+        return owners;
+    }
+
+    private static Map<Long, Student> byId(List<Student> students) {
+        Map<Long, Student> byId = new HashMap<>();
+        students.forEach(student -> byId.put(student.getId(), student));
+        return byId;
+    }
+
+    /** Usernames are unique case-insensitively under MySQL's default collation. */
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static int count(List<BulkItemResult> results, BulkItemStatus status) {
+        return (int) results.stream().filter(result -> result.getStatus() == status).count();
+    }
+
+    private static BulkItemResult success(BulkOperation operation, int index, Long id, BulkItemStatus status) {
+        return new BulkItemResult(operation, index, id, status, null);
+    }
+
+    private static BulkItemResult failure(BulkOperation operation, int index, Long id, BulkItemStatus status, String message) {
+        return new BulkItemResult(operation, index, id, status, message);
+    }
+
+    private static BulkItemResult duplicateId(BulkOperation operation, int index, Long id) {
+        return failure(operation, index, id, BulkItemStatus.CONFLICT, "Student " + id + " appears more than once in the request");
+    }
+
+    private record Item<T>(int index, T value) {
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        List<BulkItemResult> write(List<Item<T>> chunk, Set<String> claimed);
+    }
+}
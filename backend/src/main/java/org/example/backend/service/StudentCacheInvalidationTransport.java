@@ -0,0 +1,29 @@
+package org.example.backend.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries student cache invalidations between backend nodes. Each node subscribes with its own origin
+ * id and only receives invalidations published by other origins.
+ */
+public interface StudentCacheInvalidationTransport {
+
+    void publish(String origin, Invalidation invalidation);
+
+    void subscribe(String origin, Consumer<Invalidation> listener);
+
+    /**
+     * Students to drop from the cache, or every student when {@code all} is set.
+     */
+    record Invalidation(boolean all, List<Long> studentIds) {
+
+        public static Invalidation everything() {
+            return new Invalidation(true, List.of());
+        }
+
+        public static Invalidation of(List<Long> studentIds) {
+            return new Invalidation(false, List.copyOf(studentIds));
+        }
+    }
+}
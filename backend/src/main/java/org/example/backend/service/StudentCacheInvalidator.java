@@ -0,0 +1,126 @@
+package org.example.backend.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.config.CacheConfig;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.event.StudentChangeEvent;
+import org.example.backend.service.StudentCacheInvalidationTransport.Invalidation;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the {@link CacheConfig#STUDENTS} near-cache coherent. Local entries are evicted once a change
+ * commits, and the same invalidation is published through the configured
+ * {@link StudentCacheInvalidationTransport} so the other nodes evict theirs.
+ * <p>
+ * Misses are filled through {@link #get(Long, Supplier)} rather than {@code @Cacheable}: a miss that read
+ * a student just before a change committed would otherwise put the old version back after the change's
+ * eviction, where it would stay until it expires. Every eviction is stamped, and a load started before
+ * an eviction of its student is returned but not cached; a cached entry is also never replaced by a lower
+ * version.
+ */
+@Component
+public class StudentCacheInvalidator {
+
+    /** Above this many students in one change, other nodes clear their whole cache instead. */
+    static final int CLEAR_ALL_THRESHOLD = 500;
+    /** How long evictions are remembered; a load that took longer than this is not cached. */
+    static final Duration EVICTION_MEMORY = Duration.ofSeconds(30);
+
+    private final Cache cache;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> entries;
+    private final AtomicLong stamps = new AtomicLong();
+    private final com.github.benmanes.caffeine.cache.Cache<Long, Long> evictedAt = Caffeine.newBuilder()
+            .expireAfterWrite(EVICTION_MEMORY)
+            .build();
+    private volatile long clearedAt;
+    private final StudentCacheInvalidationTransport transport;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Counter published;
+    private final Counter received;
+
+    public StudentCacheInvalidator(CacheManager cacheManager,
+                                   StudentCacheInvalidationTransport transport,
+                                   MeterRegistry meterRegistry) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.STUDENTS), "students cache");
+        this.entries = ((CaffeineCache) cache).getNativeCache();
+        this.transport = transport;
+        this.published = Counter.builder("students.cache.invalidations")
+                .tag("direction", "published")
+                .register(meterRegistry);
+        this.received = Counter.builder("students.cache.invalidations")
+                .tag("direction", "received")
+                .register(meterRegistry);
+        transport.subscribe(nodeId, this::apply);
+    }
+
+    /** The cached student, or the one {@code loader} reads, cached unless it may already be stale. */
+    public StudentDto get(Long id, Supplier<StudentDto> loader) {
+        Object cached = entries.getIfPresent(id);
+        if (cached instanceof StudentDto student) {
+            return student;
+        }
+        long stamp = stamps.get();
+        long start = System.nanoTime();
+        StudentDto loaded = loader.get();
+        if (System.nanoTime() - start >= EVICTION_MEMORY.toNanos()) {
+            return loaded;
+        }
+        // Evictions stamp before removing, and removing waits for this compute, so a racing change either
+        // shows up in the check or removes the entry afterwards
+        entries.asMap().compute(id, (key, current) -> {
+            Long evicted = evictedAt.getIfPresent(id);
+            if (clearedAt > stamp || (evicted != null && evicted > stamp)) {
+                return current;
+            }
+            if (current instanceof StudentDto other && newer(other, loaded)) {
+                return current;
+            }
+            return loaded;
+        });
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChange(StudentChangeEvent event) {
+        List<Long> ids = event.getStudents().stream().map(StudentDto::getId).toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        Invalidation invalidation = ids.size() > CLEAR_ALL_THRESHOLD ? Invalidation.everything() : Invalidation.of(ids);
+        ids.forEach(this::evict);
+        transport.publish(nodeId, invalidation);
+        published.increment();
+    }
+
+    private void apply(Invalidation invalidation) {
+        received.increment();
+        if (invalidation.all()) {
+            clearedAt = stamps.incrementAndGet();
+            cache.clear();
+        } else {
+            invalidation.studentIds().forEach(this::evict);
+        }
+    }
+
+    private void evict(Long id) {
+        evictedAt.put(id, stamps.incrementAndGet());
+        cache.evict(id);
+    }
+
+    private static boolean newer(StudentDto cached, StudentDto loaded) {
+        return cached.getVersion() != null && loaded.getVersion() != null && cached.getVersion() > loaded.getVersion();
+    }
+}
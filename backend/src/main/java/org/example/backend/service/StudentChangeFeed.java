@@ -0,0 +1,316 @@
+package org.example.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.dto.StudentChangeNotification;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.event.LoggedStudentChange;
+import org.example.backend.event.StudentChangeEvent;
+import org.example.backend.event.StudentChangeLogEvent;
+import org.example.backend.repository.StudentChangeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events feed of the {@code student_changes} log for {@code GET /api/students/changes}.
+ * <p>
+ * Subscribers are async {@link SseEmitter}s, so an idle connection holds a socket but no servlet thread.
+ * The feed follows the {@link StudentChangeLogEvent}s of {@link StudentChangeLog}, so it carries what any node
+ * committed, and turns each run of changes of one kind into an event whose id is the log sequence value of
+ * its last change. Ids therefore mean the same on every node: a client reconnecting with
+ * {@code Last-Event-ID}, to this node or another, gets what it missed read back from the log, up to
+ * {@code buffer-size} changes. If it missed more, or the changes have been purged, or the id is not one of
+ * this log's, it gets a {@code reset} event and should reload. Events list the changed students only up to
+ * {@code max-students}; larger changes, and imports, carry just the count.
+ * <p>
+ * Every subscriber has its own bounded queue, drained by a small pool of sender threads, so the log poller
+ * never waits for subscribers and a client that stops reading holds up at most one sender until its socket
+ * write fails, never the others. A subscriber whose queue overflows is dropped; its client reconnects
+ * with {@code Last-Event-ID} and catches up from the log.
+ */
+@Component
+public class StudentChangeFeed implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentChangeFeed.class);
+
+    static final String RESET = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final StudentChangeLogRepository changeLogRepository;
+    private final StudentChangeLog changeLog;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final int subscriberQueue;
+    private final int maxStudents;
+    private final ExecutorService senders;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /** Guarded by {@code this}: the last log sequence value broadcast, -1 until known. */
+    private long position = -1;
+
+    public StudentChangeFeed(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             StudentChangeLogRepository changeLogRepository,
+                             StudentChangeLog changeLog,
+                             @Value("${app.change-feed.buffer-size:1000}") int bufferSize,
+                             @Value("${app.change-feed.timeout:PT30M}") Duration timeout,
+                             @Value("${app.change-feed.senders:4}") int senders,
+                             @Value("${app.change-feed.subscriber-queue:100}") int subscriberQueue,
+                             @Value("${app.change-feed.max-students:100}") int maxStudents) {
+        this.objectMapper = objectMapper;
+        this.changeLogRepository = changeLogRepository;
+        this.changeLog = changeLog;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.subscriberQueue = subscriberQueue;
+        this.maxStudents = maxStudents;
+        this.senders = Executors.newFixedThreadPool(senders, new CustomizableThreadFactory("change-feed-"));
+        Gauge.builder("students.changes.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    /**
+     * Opens a subscription that first replays the changes after {@code lastEventId}, or sends
+     * {@code reset} if they are no longer available, then follows new changes.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        // Read before taking the lock: the log may be polling and waiting for it to publish to this feed
+        long highWaterMark = changeLog.highWaterMark();
+        synchronized (this) {
+            // Joins in the same critical section as broadcasts: the replay covers every change up to the
+            // position and the broadcasts every change after it
+            position = Math.max(position, highWaterMark);
+            long after = position;
+            List<FeedEvent> replay = List.of();
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                after = parseSequence(lastEventId);
+                replay = missedSince(after);
+                if (replay == null) {
+                    after = position;
+                }
+            }
+            Subscriber subscriber = new Subscriber(emitter, after);
+            emitter.onCompletion(() -> subscribers.remove(subscriber));
+            emitter.onTimeout(() -> subscribers.remove(subscriber));
+            emitter.onError(error -> subscribers.remove(subscriber));
+            if (replay == null) {
+                subscriber.replay(List.of(() -> SseEmitter.event().name(RESET).data("")));
+            } else {
+                subscriber.replay(replay.stream().<Supplier<SseEmitter.SseEventBuilder>>map(event -> event::toSse).toList());
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onChangeLog(StudentChangeLogEvent event) {
+        List<LoggedStudentChange> changes = event.getChanges();
+        List<FeedEvent> feedEvents = render(changes, 0);
+        synchronized (this) {
+            position = Math.max(position, event.getHighWaterMark());
+            long first = changes.get(0).seq();
+            for (Subscriber subscriber : subscribers) {
+                // A client that came from a node further along the log has seen some of these already
+                List<FeedEvent> unseen = subscriber.after < first ? feedEvents : render(changes, subscriber.after);
+                unseen.forEach(feedEvent -> subscriber.offer(feedEvent::toSse));
+            }
+        }
+    }
+
+    /** Keeps idle connections open through proxies and finds the ones whose client has gone. */
+    @Scheduled(fixedDelayString = "${app.change-feed.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(() -> SseEmitter.event().comment("keep-alive")));
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * The events for the changes in {@code (after, position]}, or {@code null} if they cannot all be
+     * replayed. An id beyond the position comes from a node further along; its changes arrive here shortly.
+     */
+    private List<FeedEvent> missedSince(long after) {
+        if (after < 0 || after < changeLogRepository.purgedSequence()) {
+            return null;
+        }
+        if (after >= position) {
+            return after > position && after > changeLogRepository.maxSequence() ? null : List.of();
+        }
+        List<LoggedStudentChange> missed = changeLogRepository.findBetween(after, position, bufferSize + 1);
+        return missed.size() > bufferSize ? null : render(missed, after);
+    }
+
+    /** One event per run of changes of the same kind after {@code after}. */
+    private List<FeedEvent> render(List<LoggedStudentChange> changes, long after) {
+        List<FeedEvent> events = new ArrayList<>();
+        List<StudentDto> run = new ArrayList<>();
+        for (int i = 0; i < changes.size(); i++) {
+            LoggedStudentChange change = changes.get(i);
+            if (change.seq() <= after) {
+                continue;
+            }
+            run.add(change.student());
+            if (i == changes.size() - 1 || changes.get(i + 1).type() != change.type()) {
+                FeedEvent event = render(change.seq(), change.type(), run);
+                if (event != null) {
+                    events.add(event);
+                }
+                run = new ArrayList<>();
+            }
+        }
+        return events;
+    }
+
+    private FeedEvent render(long seq, StudentChangeEvent.Type type, List<StudentDto> students) {
+        StudentChangeNotification notification = StudentChangeNotification.builder()
+                .type(type)
+                .count(students.size())
+                .students(type == StudentChangeEvent.Type.IMPORTED || students.size() > maxStudents ? null : students)
+                .build();
+        try {
+            return new FeedEvent(seq, type.name().toLowerCase(Locale.ROOT), objectMapper.writeValueAsString(notification));
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not render change event {}", type, e);
+            return null;
+        }
+    }
+
+    private static long parseSequence(String eventId) {
+        try {
+            return Long.parseLong(eventId);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * One connection and the events not yet written to it. Events are queued as suppliers because an
+     * {@link SseEmitter.SseEventBuilder} is consumed by sending it. At most one sender drains a subscriber
+     * at a time, which keeps its events in order.
+     */
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+        /** Changes at or below this sequence value are not sent to this subscriber. */
+        final long after;
+
+        /** Guarded by {@code this}, like {@link #draining} and {@link #dropped}. */
+        private final Deque<Supplier<SseEmitter.SseEventBuilder>> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean dropped;
+
+        Subscriber(SseEmitter emitter, long after) {
+            this.emitter = emitter;
+            this.after = after;
+        }
+
+        /** Queues the catch-up events; they may exceed the queue bound, being already in memory. */
+        void replay(List<Supplier<SseEmitter.SseEventBuilder>> events) {
+            synchronized (this) {
+                pending.addAll(events);
+                if (pending.isEmpty()) {
+                    return;
+                }
+                draining = true;
+            }
+            senders.execute(this::drain);
+        }
+
+        void offer(Supplier<SseEmitter.SseEventBuilder> event) {
+            synchronized (this) {
+                if (dropped) {
+                    return;
+                }
+                if (pending.size() >= subscriberQueue) {
+                    // Fell behind: stop buffering for it, the client catches up from the log on reconnect
+                    dropped = true;
+                    pending.clear();
+                    subscribers.remove(this);
+                } else {
+                    pending.addLast(event);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            senders.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                Supplier<SseEmitter.SseEventBuilder> next;
+                synchronized (this) {
+                    next = dropped ? null : pending.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        break;
+                    }
+                }
+                try {
+                    emitter.send(next.get());
+                } catch (IOException | IllegalStateException e) {
+                    // Client gone or emitter already completed
+                    synchronized (this) {
+                        dropped = true;
+                        pending.clear();
+                        draining = false;
+                    }
+                    subscribers.remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+            if (isDropped()) {
+                logger.debug("Dropping a change feed subscriber that fell {} events behind", subscriberQueue);
+                emitter.complete();
+            }
+        }
+
+        private synchronized boolean isDropped() {
+            return dropped;
+        }
+    }
+
+    private record FeedEvent(long sequence, String name, String data) {
+
+        SseEmitter.SseEventBuilder toSse() {
+            return SseEmitter.event()
+                    .id(Long.toString(sequence))
+                    .name(name)
+                    .data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+}
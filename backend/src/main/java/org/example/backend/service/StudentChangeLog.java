@@ -0,0 +1,156 @@
+package org.example.backend.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.backend.event.LoggedStudentChange;
+import org.example.backend.event.StudentChangeEvent;
+import org.example.backend.event.StudentChangeLogEvent;
+import org.example.backend.repository.StudentChangeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Writes every {@link StudentChangeEvent} to the {@code student_changes} log and follows that log on this
+ * node, publishing what any node committed as {@link StudentChangeLogEvent}s.
+ * <p>
+ * The rows are appended just before the writing transaction commits, so a sequence value is only
+ * outstanding for the length of a commit. Still, a lower value can become visible after a higher one has
+ * been read. Values skipped by a poll are therefore remembered as gaps, like in
+ * {@link JdbcStudentCacheInvalidationTransport}, and the high-water mark stops below the oldest of them until
+ * it shows up or {@code gap-timeout} passes (rolled back writes leave gaps for good). Changes are delivered
+ * up to the high-water mark only, so a position in the log means the same on every node.
+ */
+@Component
+public class StudentChangeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentChangeLog.class);
+
+    private static final int POLL_BATCH_SIZE = 1000;
+    /** Sequence values below the newest one that the first poll checks for writes still committing. */
+    private static final int STARTUP_LOOKBACK = 1000;
+    static final int MAX_TRACKED_GAPS = 10_000;
+
+    private final StudentChangeLogRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final Duration gapTimeout;
+    private final Duration retention;
+
+    /** Guarded by {@code this}, like {@link #lastSeen}: skipped values and when they were first missed. */
+    private final NavigableMap<Long, Instant> gaps = new TreeMap<>();
+    private long lastSeen = -1;
+    private volatile long highWaterMark = -1;
+
+    public StudentChangeLog(StudentChangeLogRepository repository,
+                            ApplicationEventPublisher eventPublisher,
+                            EntityManager entityManager,
+                            @Value("${app.change-log.gap-timeout:PT1M}") Duration gapTimeout,
+                            @Value("${app.change-log.retention:P30D}") Duration retention) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+    }
+
+    /**
+     * Pending JPA changes are flushed first, so that a write failing at flush (e.g. a stale version) rolls
+     * back before it has taken sequence values.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStudentChange(StudentChangeEvent event) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+        repository.append(event);
+    }
+
+    /**
+     * Every change at or below this value has been committed (or rolled back) and delivered to the
+     * listeners of this node.
+     */
+    public long highWaterMark() {
+        if (highWaterMark < 0) {
+            poll();
+        }
+        return highWaterMark;
+    }
+
+    @Scheduled(fixedDelayString = "${app.change-log.poll-interval:PT1S}")
+    public synchronized void poll() {
+        Instant now = Instant.now();
+        if (lastSeen < 0) {
+            // Earlier changes are already in whatever listeners load at startup; only recent gaps matter
+            lastSeen = Math.max(0, repository.maxSequence() - STARTUP_LOOKBACK);
+            track(repository.findSequencesAfter(lastSeen, STARTUP_LOOKBACK), now);
+            highWaterMark = gaps.isEmpty() ? lastSeen : gaps.firstKey() - 1;
+            return;
+        }
+        List<Long> sequences;
+        do {
+            sequences = repository.findSequencesAfter(lastSeen, POLL_BATCH_SIZE);
+            track(sequences, now);
+        } while (sequences.size() == POLL_BATCH_SIZE);
+        if (!gaps.isEmpty()) {
+            repository.findExistingSequences(gaps.keySet()).forEach(gaps::remove);
+            Instant cutoff = now.minus(gapTimeout);
+            if (gaps.values().removeIf(missedAt -> !missedAt.isAfter(cutoff))) {
+                logger.debug("Gave up waiting for student changes missing for more than {}", gapTimeout);
+            }
+        }
+        deliver(gaps.isEmpty() ? lastSeen : gaps.firstKey() - 1);
+    }
+
+    @Scheduled(fixedDelayString = "${app.change-log.purge-interval:PT1H}")
+    public void purge() {
+        long horizon = repository.purge(Instant.now().minus(retention));
+        if (horizon > 0) {
+            logger.debug("Purged student changes up to {}", horizon);
+        }
+    }
+
+    private void track(List<Long> sequences, Instant now) {
+        for (long seq : sequences) {
+            for (long missing = lastSeen + 1; missing < seq; missing++) {
+                if (gaps.size() >= MAX_TRACKED_GAPS) {
+                    logger.warn("More than {} student changes missing, treating the rest as rolled back", MAX_TRACKED_GAPS);
+                    break;
+                }
+                gaps.put(missing, now);
+            }
+            lastSeen = seq;
+        }
+    }
+
+    /**
+     * Publishes the changes in {@code (highWaterMark, upTo]} a page at a time. The mark moves after each
+     * page is out, so whoever reads it has seen every change up to it.
+     */
+    private void deliver(long upTo) {
+        long delivered = highWaterMark;
+        while (delivered < upTo) {
+            List<LoggedStudentChange> page = repository.findBetween(delivered, upTo, POLL_BATCH_SIZE);
+            delivered = page.size() == POLL_BATCH_SIZE ? page.get(page.size() - 1).seq() : upTo;
+            if (!page.isEmpty()) {
+                try {
+                    eventPublisher.publishEvent(new StudentChangeLogEvent(page, delivered));
+                } catch (RuntimeException e) {
+                    logger.warn("A student change listener failed on changes up to {}", delivered, e);
+                }
+            }
+            highWaterMark = delivered;
+        }
+    }
+}
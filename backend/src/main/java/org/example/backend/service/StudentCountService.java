@@ -0,0 +1,16 @@
+package org.example.backend.service;
+
+import org.example.backend.enums.Level;
+
+public interface StudentCountService {
+    /**
+     * Number of students matching the filters, without hitting the database on a warm cache. Exact as of the
+     * change log's high-water mark when {@code searchTerm} is empty; for search terms an estimate that may lag
+     * writes by the refresh interval.
+     */
+    long count(String searchTerm, Level level);
+    /** Counts in the database right now, bypassing the cache; used where a page total must be exact. */
+    long countExact(String searchTerm, Level level);
+    boolean isExact(String searchTerm);
+    void invalidateAll();
+}
@@ -0,0 +1,103 @@
+package org.example.backend.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.backend.enums.Level;
+import org.example.backend.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Caches listing totals so paged reads need no {@code COUNT} of their own.
+ * <p>
+ * Unfiltered and per-level totals are read from the {@link StudentStatisticsService} counters, which
+ * follow the change log and are exact as of its high-water mark, about a poll interval behind the database. Totals for search terms are answered by the search index
+ * (substring terms, when it is loaded) or by the {@code COUNT} query of their {@link StudentSearchPlan}
+ * strategy; either way they are cached and only reloaded in the background once older than the refresh
+ * interval, so readers never wait for them.
+ */
+@Service
+public class StudentCountServiceImpl implements StudentCountService {
+
+    private final StudentRepository studentRepository;
+    private final StudentSearchIndex searchIndex;
+    private final StudentStatisticsService statisticsService;
+    private final LoadingCache<CountKey, Long> counts;
+
+    public StudentCountServiceImpl(StudentRepository studentRepository,
+                                   StudentSearchIndex searchIndex,
+                                   StudentStatisticsService statisticsService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.count-cache.refresh-interval:PT30S}") Duration refreshInterval,
+                                   @Value("${app.count-cache.expire-after-access:PT10M}") Duration expireAfterAccess,
+                                   @Value("${app.count-cache.max-size:10000}") long maxSize) {
+        this.studentRepository = studentRepository;
+        this.searchIndex = searchIndex;
+        this.statisticsService = statisticsService;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(refreshInterval)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "studentCounts");
+    }
+
+    @Override
+    public long count(String searchTerm, Level level) {
+        String term = normalize(searchTerm);
+        if (term == null && statisticsService.isReady()) {
+            return level == null ? statisticsService.total() : statisticsService.count(level);
+        }
+        return counts.get(new CountKey(term, level));
+    }
+
+    @Override
+    public long countExact(String searchTerm, Level level) {
+        StudentSearchPlan plan = StudentSearchPlan.of(searchTerm);
+        if (plan.getId() != null) {
+            return studentRepository.countByUsernameLikeOrId(plan.getLikePattern(), plan.getId(), level);
+        }
+        return switch (plan.getStrategy()) {
+            case ALL -> level == null ? studentRepository.count() : studentRepository.countByLevel(level);
+            case PREFIX -> level == null
+                    ? studentRepository.countByUsernamePrefix(plan.getLikeValue())
+                    : studentRepository.countByUsernamePrefixAndLevel(plan.getLikeValue(), level);
+            case CONTAINS -> level == null
+                    ? studentRepository.countByUsernameContaining(plan.getLikeValue())
+                    : studentRepository.countByUsernameContainingAndLevel(plan.getLikeValue(), level);
+        };
+    }
+
+    @Override
+    public boolean isExact(String searchTerm) {
+        return normalize(searchTerm) == null;
+    }
+
+    @Override
+    public void invalidateAll() {
+        counts.invalidateAll();
+    }
+
+    private Long load(CountKey key) {
+        StudentSearchPlan plan = StudentSearchPlan.of(key.searchTerm());
+        if (plan.getStrategy() == StudentSearchPlan.Strategy.CONTAINS && searchIndex.isReady()) {
+            return (long) searchIndex.search(plan.getTerm(), key.level(), Sort.unsorted()).size();
+        }
+        return countExact(key.searchTerm(), key.level());
+    }
+
+    /** Searches are case-insensitive, so differently cased terms share one entry. */
+    private static String normalize(String searchTerm) {
+        return searchTerm == null || searchTerm.isEmpty() ? null : searchTerm.toLowerCase(Locale.ROOT);
+    }
+
+    private record CountKey(String searchTerm, Level level) {
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.backend.service;
+
+import org.example.backend.entity.Student;
+import org.example.backend.enums.StudentSort;
+import org.example.backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Seek position of the keyset listing: the sort key and id of the last student of a slice.
+ * Encoded as an opaque URL-safe token so clients never build cursors themselves.
+ */
+public final class StudentCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private final StudentSort sort;
+    private final Long id;
+    private final String username;
+
+    private StudentCursor(StudentSort sort, Long id, String username) {
+        this.sort = sort;
+        this.id = id;
+        this.username = username;
+    }
+
+    public static StudentCursor after(StudentSort sort, Student last) {
+        return new StudentCursor(sort, last.getId(), sort == StudentSort.USERNAME ? last.getUsername() : null);
+    }
+
+    public static StudentCursor decode(String token, StudentSort expectedSort) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Malformed cursor");
+        }
+        // Layout: <sort>:<id>[:<username>]; the username goes last because it may contain ':'
+        String[] parts = raw.split(String.valueOf(SEPARATOR), 3);
+        if (parts.length < 2) {
+            throw new BadRequestException("Malformed cursor");
+        }
+        StudentSort sort;
+        Long id;
+        try {
+            sort = StudentSort.valueOf(parts[0]);
+            id = Long.valueOf(parts[1]);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Malformed cursor");
+        }
+        if (sort != expectedSort) {
+            throw new BadRequestException("Cursor was issued for sort " + sort + ", not " + expectedSort);
+        }
+        if (sort == StudentSort.USERNAME && parts.length != 3) {
+            throw new BadRequestException("Malformed cursor");
+        }
+        return new StudentCursor(sort, id, sort == StudentSort.USERNAME ? parts[2] : null);
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + id + (username != null ? SEPARATOR + username : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public StudentSort getSort() {
+        return sort;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.backend.service;
+
+import org.example.backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position within one delta sync: the client's watermark, the watermark the sync runs up to and the
+ * change sequence value of the last item sent, or for a full sync the id of the last student sent. All
+ * pages of a sync share the first two, so a long sync neither chases new writes nor is judged against its
+ * own progress.
+ */
+public final class StudentDeltaCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private final long since;
+    private final long upTo;
+    private final long after;
+
+    private StudentDeltaCursor(long since, long upTo, long after) {
+        this.since = since;
+        this.upTo = upTo;
+        this.after = after;
+    }
+
+    public static StudentDeltaCursor start(long since, long upTo) {
+        return new StudentDeltaCursor(since, upTo, since);
+    }
+
+    public StudentDeltaCursor after(long changeSeq) {
+        return new StudentDeltaCursor(since, upTo, changeSeq);
+    }
+
+    public static StudentDeltaCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Malformed cursor");
+        }
+        // Layout: <since>:<upTo>:<after>
+        String[] parts = raw.split(String.valueOf(SEPARATOR));
+        if (parts.length != 3) {
+            throw new BadRequestException("Malformed cursor");
+        }
+        try {
+            StudentDeltaCursor cursor = new StudentDeltaCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]),
+                    Long.parseLong(parts[2]));
+            if (cursor.since < 0 || cursor.upTo < cursor.since
+                    || (cursor.since > 0 && (cursor.after < cursor.since || cursor.after > cursor.upTo))) {
+                throw new BadRequestException("Malformed cursor");
+            }
+            return cursor;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Malformed cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = "" + since + SEPARATOR + upTo + SEPARATOR + after;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getSince() {
+        return since;
+    }
+
+    public long getUpTo() {
+        return upTo;
+    }
+
+    public long getAfter() {
+        return after;
+    }
+}
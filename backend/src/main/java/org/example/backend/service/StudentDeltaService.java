@@ -0,0 +1,21 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.StudentDelta;
+
+import java.io.Writer;
+import java.util.function.LongConsumer;
+
+public interface StudentDeltaService {
+    /**
+     * One page of the students changed and deleted after {@code since}, in change order. Without a
+     * {@code cursor} this starts a sync up to the current watermark; with one it continues that sync.
+     * {@code since = 0} is a full sync. Fails with a {@code GoneException} when the changes after
+     * {@code since} are no longer retained.
+     */
+    StudentDelta getDelta(long since, String cursor, int limit);
+    /**
+     * Writes every change after {@code since} as CSV, in change order, or every student for a full sync.
+     * The new watermark is passed to {@code watermark} before anything is written.
+     */
+    void exportDelta(long since, LongConsumer watermark, Writer writer);
+}
@@ -0,0 +1,208 @@
+package org.example.backend.service;
+
+import com.opencsv.CSVWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.example.backend.config.ReadWriteRoutingDataSource;
+import org.example.backend.dto.StudentDelta;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.entity.Student;
+import org.example.backend.event.LoggedStudentChange;
+import org.example.backend.event.StudentChangeEvent;
+import org.example.backend.exception.BadRequestException;
+import org.example.backend.exception.GoneException;
+import org.example.backend.mapper.StudentMapper;
+import org.example.backend.repository.StudentChangeLogRepository;
+import org.example.backend.repository.StudentRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Delta sync over the {@code student_changes} log. A sync runs up to the high-water mark of
+ * {@link StudentChangeLog}, below which every change is committed, and reads only the log rows between the
+ * client's watermark and that mark, through the log's primary key, so its cost follows the number of
+ * changes rather than the roster size. A full sync ({@code since = 0}) reads the students themselves.
+ * <p>
+ * Both run on the primary: the high-water mark is the primary's, and a lagging replica could still be
+ * missing changes below it. Changes are kept for {@code app.change-log.retention}; a client whose
+ * watermark is older than the purged ones gets 410 and has to start over with a full sync.
+ */
+@Service
+public class StudentDeltaServiceImpl implements StudentDeltaService {
+
+    static final int MAX_DELTA_PAGE_SIZE = 10_000;
+
+    private final StudentRepository studentRepository;
+    private final StudentChangeLogRepository changeLogRepository;
+    private final StudentChangeLog changeLog;
+    private final StudentMapper studentMapper;
+    private final EntityManager entityManager;
+    private final Counter deltaRows;
+
+    public StudentDeltaServiceImpl(StudentRepository studentRepository,
+                                   StudentChangeLogRepository changeLogRepository,
+                                   StudentChangeLog changeLog,
+                                   StudentMapper studentMapper,
+                                   EntityManager entityManager,
+                                   MeterRegistry meterRegistry) {
+        this.studentRepository = studentRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.changeLog = changeLog;
+        this.studentMapper = studentMapper;
+        this.entityManager = entityManager;
+        this.deltaRows = meterRegistry.counter("students.delta.rows");
+    }
+
+    /**
+     * Fetches one row beyond the page, so hasNext needs no COUNT. Within a page a student appears once, in
+     * its latest state, and a deleted student only among the deletions; ids are never reused, so a deletion
+     * is always a student's last change.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public StudentDelta getDelta(long since, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_DELTA_PAGE_SIZE));
+        return ReadWriteRoutingDataSource.onPrimary(() -> {
+            StudentDeltaCursor position = (cursor == null || cursor.isEmpty())
+                    ? StudentDeltaCursor.start(since, upTo(since))
+                    : StudentDeltaCursor.decode(cursor);
+            checkWatermark(position.getSince());
+            StudentDelta delta = position.getSince() == 0 ? fullSync(position, size) : changesSince(position, size);
+            deltaRows.increment(delta.getChanged().size() + delta.getDeleted().size());
+            return delta;
+        });
+    }
+
+    /** A page of every student, in id order; there is nothing yet for deletions to remove. */
+    private StudentDelta fullSync(StudentDeltaCursor position, int size) {
+        List<Student> students = studentRepository.findNextOrderById(null, null, null, position.getAfter(), Limit.of(size + 1));
+        boolean hasNext = students.size() > size;
+        List<Student> page = hasNext ? students.subList(0, size) : students;
+        return StudentDelta.builder()
+                .changed(page.stream().map(studentMapper::toDto).toList())
+                .deleted(List.of())
+                .watermark(position.getUpTo())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? position.after(page.get(page.size() - 1).getId()).encode() : null)
+                .build();
+    }
+
+    private StudentDelta changesSince(StudentDeltaCursor position, int size) {
+        List<LoggedStudentChange> changes = changeLogRepository.findBetween(position.getAfter(), position.getUpTo(), size + 1);
+        boolean hasNext = changes.size() > size;
+        List<LoggedStudentChange> page = hasNext ? changes.subList(0, size) : changes;
+        Map<Long, StudentDto> changed = new LinkedHashMap<>();
+        List<Long> deleted = new ArrayList<>();
+        for (LoggedStudentChange change : page) {
+            Long id = change.student().getId();
+            changed.remove(id);
+            if (change.type() == StudentChangeEvent.Type.DELETED) {
+                deleted.add(id);
+            } else {
+                changed.put(id, change.student());
+            }
+        }
+        return StudentDelta.builder()
+                .changed(new ArrayList<>(changed.values()))
+                .deleted(deleted)
+                .watermark(position.getUpTo())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? position.after(page.get(page.size() - 1).seq()).encode() : null)
+                .build();
+    }
+
+    /**
+     * Streams a full sync from the same forward-only cursor as the full export, or a delta as the logged
+     * changes in sequence order; a student changed more than once appears once per change, so consumers
+     * apply the rows in order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportDelta(long since, LongConsumer watermark, Writer writer) {
+        ReadWriteRoutingDataSource.onPrimary(() -> {
+            long upTo = upTo(since);
+            checkWatermark(since);
+            watermark.accept(upTo);
+
+            CSVWriter csvWriter = new CSVWriter(writer);
+            csvWriter.writeNext(new String[]{"ID", "Username", "Level", "Deleted"});
+            int[] written = {0};
+            if (since == 0) {
+                try (Stream<Student> students = studentRepository.streamAllOrderById()) {
+                    for (Student student : (Iterable<Student>) students::iterator) {
+                        csvWriter.writeNext(new String[]{
+                                String.valueOf(student.getId()),
+                                student.getUsername(),
+                                student.getLevel().name(),
+                                "false"
+                        });
+                        entityManager.detach(student);
+                        if (++written[0] % StudentServiceImpl.EXPORT_FLUSH_INTERVAL == 0) {
+                            flush(csvWriter);
+                        }
+                    }
+                }
+            } else {
+                changeLogRepository.forEachBetween(since, upTo, change -> {
+                    StudentDto student = change.student();
+                    boolean deleted = change.type() == StudentChangeEvent.Type.DELETED;
+                    csvWriter.writeNext(new String[]{
+                            String.valueOf(student.getId()),
+                            student.getUsername(),
+                            deleted ? "" : student.getLevel().name(),
+                            String.valueOf(deleted)
+                    });
+                    if (++written[0] % StudentServiceImpl.EXPORT_FLUSH_INTERVAL == 0) {
+                        flush(csvWriter);
+                    }
+                });
+            }
+            flush(csvWriter);
+            deltaRows.increment(written[0]);
+            if (csvWriter.checkError()) {
+                throw new RuntimeException("Failed to export student delta to CSV: error writing CSV output");
+            }
+            return null;
+        });
+    }
+
+    /**
+     * The watermark a new sync from {@code since} runs up to. A client may come from a node whose
+     * high-water mark is ahead of this one's; everything up to its watermark is committed all the same.
+     */
+    private long upTo(long since) {
+        long highWaterMark = changeLog.highWaterMark();
+        if (since > highWaterMark && since > changeLogRepository.maxSequence()) {
+            throw new GoneException("Watermark " + since + " is unknown to this database, start over with since=0");
+        }
+        return Math.max(since, highWaterMark);
+    }
+
+    private void checkWatermark(long since) {
+        if (since < 0) {
+            throw new BadRequestException("since must not be negative");
+        }
+        if (since > 0 && since < changeLogRepository.purgedSequence()) {
+            throw new GoneException("Changes after watermark " + since + " are no longer retained, start over with since=0");
+        }
+    }
+
+    private static void flush(CSVWriter csvWriter) {
+        try {
+            csvWriter.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to export student delta to CSV", e);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package org.example.backend.service;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.dto.ImportError;
+import org.example.backend.dto.ImportReport;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.entity.Student;
+import org.example.backend.enums.ImportMode;
+import org.example.backend.enums.Level;
+import org.example.backend.event.StudentChangeEvent;
+import org.example.backend.mapper.StudentMapper;
+import org.example.backend.repository.StudentBatchRepository;
+import org.example.backend.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * CSV import engine. Rows are parsed and validated one at a time, valid rows are buffered into
+ * fixed-size chunks, and each chunk is written with a single JDBC batch in its own transaction.
+ * Memory is therefore bounded by one chunk, and a bad row only rejects that row.
+ * <p>
+ * In {@link ImportMode#UPSERT} rows are matched to existing students by username with one lookup per
+ * chunk; only rows whose level differs are written, so re-importing an unchanged file writes nothing.
+ */
+@Component
+public class StudentImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentImporter.class);
+
+    static final int MAX_REPORTED_ERRORS = 500;
+    static final int MAX_USERNAME_LENGTH = 255;
+
+    private final StudentRepository studentRepository;
+    private final StudentBatchRepository studentBatchRepository;
+    private final StudentMapper studentMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final Counter insertedRows;
+    private final Counter updatedRows;
+    private final Counter unchangedRows;
+    private final Counter rejectedRows;
+
+    public StudentImporter(StudentRepository studentRepository,
+                           StudentBatchRepository studentBatchRepository,
+                           StudentMapper studentMapper,
+                           TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.import.chunk-size:1000}") int chunkSize) {
+        this.studentRepository = studentRepository;
+        this.studentBatchRepository = studentBatchRepository;
+        this.studentMapper = studentMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.insertedRows = meterRegistry.counter("students.import.rows", "result", "inserted");
+        this.updatedRows = meterRegistry.counter("students.import.rows", "result", "updated");
+        this.unchangedRows = meterRegistry.counter("students.import.rows", "result", "unchanged");
+        this.rejectedRows = meterRegistry.counter("students.import.rows", "result", "rejected");
+    }
+
+    /**
+     * Imports a CSV with the export layout ({@code ID,Username,Level}); the header line is skipped and
+     * the ID column is ignored. Chunks that were committed stay committed if a later chunk fails.
+     */
+    public ImportReport importCsv(Reader reader) {
+        return importCsv(reader, ImportProgressListener.NONE);
+    }
+
+    /**
+     * Same as {@link #importCsv(Reader)}, reporting running totals to {@code progress} after each chunk.
+     */
+    public ImportReport importCsv(Reader reader, ImportProgressListener progress) {
+        return importCsv(reader, ImportMode.INSERT, progress);
+    }
+
+    /**
+     * Same as {@link #importCsv(Reader, ImportProgressListener)}; in {@link ImportMode#UPSERT} a row
+     * whose username exists updates that student's level instead of being rejected.
+     */
+    public ImportReport importCsv(Reader reader, ImportMode mode, ImportProgressListener progress) {
+        Function<Collection<ParsedRow>, ChunkResult> writer = mode == ImportMode.UPSERT ? this::upsert : this::insertNew;
+        long start = System.nanoTime();
+        Tally tally = new Tally();
+        List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+        try (CSVReader csvReader = new CSVReader(reader)) {
+            csvReader.readNext(); // Skip header
+            while (true) {
+                String[] record;
+                try {
+                    record = csvReader.readNext();
+                } catch (CsvValidationException e) {
+                    tally.totalRows++;
+                    tally.reject(csvReader.getLinesRead(), "Malformed CSV row: " + e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                if (record.length == 1 && record[0].isBlank()) {
+                    continue; // Blank line
+                }
+                tally.totalRows++;
+                ParsedRow row = parse(record, csvReader.getLinesRead(), tally);
+                if (row != null) {
+                    chunk.add(row);
+                    if (chunk.size() == chunkSize) {
+                        writeChunk(chunk, writer, tally);
+                        chunk.clear();
+                        progress.onProgress(tally.totalRows, tally.inserted, tally.rejected);
+                    }
+                }
+            }
+            writeChunk(chunk, writer, tally);
+            progress.onProgress(tally.totalRows, tally.inserted, tally.rejected);
+        } catch (IOException | CsvValidationException e) {
+            throw new RuntimeException("Failed to import students from CSV", e);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        ImportReport report = tally.toReport(elapsedNanos);
+        insertedRows.increment(report.getInserted());
+        updatedRows.increment(report.getUpdated());
+        unchangedRows.increment(report.getUnchanged());
+        rejectedRows.increment(report.getRejected());
+        logger.info("Imported {} of {} students ({} updated, {} unchanged, {} rejected) in {} ms, {} rows/s",
+                report.getInserted(), report.getTotalRows(), report.getUpdated(), report.getUnchanged(), report.getRejected(),
+                report.getElapsedMillis(), Math.round(report.getRowsPerSecond()));
+        return report;
+    }
+
+    private ParsedRow parse(String[] record, long line, Tally tally) {
+        if (record.length < 3) {
+            tally.reject(line, "Expected 3 columns (ID, Username, Level) but found " + record.length);
+            return null;
+        }
+        String username = record[1].trim();
+        if (username.isEmpty()) {
+            tally.reject(line, "Username is required");
+            return null;
+        }
+        if (username.length() > MAX_USERNAME_LENGTH) {
+            tally.reject(line, "Username must be at most " + MAX_USERNAME_LENGTH + " characters");
+            return null;
+        }
+        Level level;
+        try {
+            level = Level.valueOf(record[2].trim());
+        } catch (IllegalArgumentException e) {
+            tally.reject(line, "Unknown level " + record[2]);
+            return null;
+        }
+        return new ParsedRow(line, username, level);
+    }
+
+    private void writeChunk(List<ParsedRow> chunk, Function<Collection<ParsedRow>, ChunkResult> writer, Tally tally) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<String, ParsedRow> unique = new LinkedHashMap<>();
+        for (ParsedRow row : chunk) {
+            if (unique.putIfAbsent(key(row.username()), row) != null) {
+                tally.reject(row.line(), "Duplicate username " + row.username() + " in file");
+            }
+        }
+        try {
+            tally.apply(transactionTemplate.execute(status -> writer.apply(unique.values())));
+        } catch (DataIntegrityViolationException e) {
+            // Another writer took one of the usernames after we checked; isolate the offending rows
+            logger.debug("Batch insert failed, retrying chunk row by row", e);
+            for (ParsedRow row : unique.values()) {
+                try {
+                    tally.apply(transactionTemplate.execute(status -> writer.apply(List.of(row))));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    tally.reject(row.line(), "Username " + row.username() + " already exists");
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs inside a chunk transaction: drops rows whose username already exists, batch-inserts the rest
+     * and publishes the change event (delivered to listeners after commit).
+     */
+    private ChunkResult insertNew(Collection<ParsedRow> rows) {
+        Set<String> existing = studentRepository.findExistingUsernames(
+                        rows.stream().map(ParsedRow::username).toList())
+                .stream()
+                .map(StudentImporter::key)
+                .collect(Collectors.toSet());
+        List<ImportError> rejected = new ArrayList<>();
+        List<Student> students = new ArrayList<>(rows.size());
+        for (ParsedRow row : rows) {
+            if (existing.contains(key(row.username()))) {
+                rejected.add(new ImportError(row.line(), "Username " + row.username() + " already exists"));
+            } else {
+                students.add(Student.builder().username(row.username()).level(row.level()).build());
+            }
+        }
+        studentBatchRepository.insertAll(students);
+        if (!students.isEmpty()) {
+            List<StudentDto> inserted = students.stream().map(studentMapper::toDto).toList();
+            eventPublisher.publishEvent(StudentChangeEvent.imported(inserted));
+        }
+        return new ChunkResult(students.size(), 0, 0, rejected);
+    }
+
+    /**
+     * Runs inside a chunk transaction: resolves the chunk's usernames with one case-insensitive lookup,
+     * batch-updates the students whose level differs, batch-inserts the usernames not found and leaves
+     * the rest alone. An existing student keeps the spelling of its username.
+     */
+    private ChunkResult upsert(Collection<ParsedRow> rows) {
+        Map<String, Student> existing = studentRepository.findByUsernameLowerIn(
+                        rows.stream().map(row -> key(row.username())).toList())
+                .stream()
+                .collect(Collectors.toMap(student -> key(student.getUsername()), Function.identity()));
+        List<Student> inserted = new ArrayList<>();
+        List<Student> updated = new ArrayList<>();
+        List<StudentDto> previous = new ArrayList<>();
+        List<ParsedRow> updatedRows = new ArrayList<>();
+        int unchanged = 0;
+        for (ParsedRow row : rows) {
+            Student student = existing.get(key(row.username()));
+            if (student == null) {
+                inserted.add(Student.builder().username(row.username()).level(row.level()).build());
+            } else if (student.getLevel() == row.level()) {
+                unchanged++;
+            } else {
+                previous.add(studentMapper.toDto(student));
+                updatedRows.add(row);
+                updated.add(Student.builder()
+                        .id(student.getId())
+                        .username(student.getUsername())
+                        .level(row.level())
+                        .version(student.getVersion())
+                        .build());
+            }
+        }
+        boolean[] written = studentBatchRepository.updateAll(updated);
+        studentBatchRepository.insertAll(inserted);
+        List<StudentDto> before = new ArrayList<>();
+        List<StudentDto> after = new ArrayList<>();
+        List<ImportError> rejected = new ArrayList<>();
+        for (int i = 0; i < written.length; i++) {
+            if (written[i]) {
+                before.add(previous.get(i));
+                after.add(studentMapper.toDto(updated.get(i)));
+            } else {
+                ParsedRow row = updatedRows.get(i);
+                rejected.add(new ImportError(row.line(), "Student " + row.username() + " was modified concurrently"));
+            }
+        }
+        if (!after.isEmpty()) {
+            eventPublisher.publishEvent(StudentChangeEvent.updated(before, after));
+        }
+        if (!inserted.isEmpty()) {
+            eventPublisher.publishEvent(StudentChangeEvent.imported(inserted.stream().map(studentMapper::toDto).toList()));
+        }
+        return new ChunkResult(inserted.size(), after.size(), unchanged, rejected);
+    }
+
+    /** Usernames are unique case-insensitively under MySQL's default collation. */
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private record ParsedRow(long line, String username, Level level) {
+    }
+
+    private record ChunkResult(int inserted, int updated, int unchanged, List<ImportError> rejected) {
+    }
+
+    private static final class Tally {
+        long totalRows;
+        long inserted;
+        long updated;
+        long unchanged;
+        long rejected;
+        final List<ImportError> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportError(line, message));
+            }
+        }
+
+        void apply(ChunkResult result) {
+            inserted += result.inserted();
+            updated += result.updated();
+            unchanged += result.unchanged();
+            result.rejected().forEach(error -> reject(error.getLine(), error.getMessage()));
+        }
+
+        ImportReport toReport(long elapsedNanos) {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            return ImportReport.builder()
+                    .totalRows(totalRows)
+                    .inserted(inserted)
+                    .updated(updated)
+                    .unchanged(unchanged)
+                    .rejected(rejected)
+                    .elapsedMillis(elapsedNanos / 1_000_000)
+                    .rowsPerSecond(seconds > 0 ? totalRows / seconds : 0)
+                    .errors(errors)
+                    .errorsTruncated(rejected > errors.size())
+                    .build();
+        }
+    }
+}
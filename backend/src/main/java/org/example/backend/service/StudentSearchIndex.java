@@ -0,0 +1,392 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.StudentDto;
+import org.example.backend.entity.Student;
+import org.example.backend.enums.Level;
+import org.example.backend.event.StudentChangeEvent;
+import org.example.backend.event.StudentChangeLogEvent;
+import org.example.backend.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over {@link Student#getUsername()} and {@link Student#getLevel()}.
+ * <p>
+ * Every lower-cased username is split into overlapping 3-character grams, each gram keeping a sorted
+ * posting list of student ids. A substring search intersects the posting lists of the term's grams and
+ * verifies the survivors, so it never scans the {@code students} table; terms shorter than a gram are
+ * left to the database (see {@link StudentSearchPlan}). The index is loaded at startup and kept current
+ * from the {@link StudentChangeLogEvent}s of the shared change log, so it sees writes made on any node, and
+ * from this node's own {@link StudentChangeEvent}s right after they commit, so a writer finds its change
+ * at once. Both carry the student's version and an older one never replaces a newer one.
+ * <p>
+ * It is rebuilt from the database every {@code rebuild-interval} as a safety net against missed changes.
+ * The rebuild loads a second copy while searches keep using the current one; changes arriving meanwhile
+ * are applied to both, and the copies are swapped once loaded. Until the first load completes callers
+ * fall back to the database.
+ */
+@Component
+public class StudentSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentSearchIndex.class);
+
+    private static final int GRAM = 3;
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final Set<String> SORTABLE = Set.of("id", "username", "level");
+
+    private final StudentRepository studentRepository;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Guarded by {@link #lock}, like {@link #pending}. */
+    private Contents contents = new Contents();
+    /** Changes applied while a rebuild is loading, replayed onto its copy before the swap; null otherwise. */
+    private List<Change> pending;
+    private volatile boolean ready;
+
+    public StudentSearchIndex(StudentRepository studentRepository,
+                              @Value("${app.search-index.enabled:true}") boolean enabled) {
+        this.studentRepository = studentRepository;
+        this.enabled = enabled;
+    }
+
+    /** Whether the index is loaded and can answer searches; callers fall back to the database otherwise. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.search-index.rebuild-interval:PT1H}",
+            initialDelayString = "${app.search-index.rebuild-interval:PT1H}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            logger.info("Student search index disabled, searches will query the database");
+            return;
+        }
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Contents loaded = new Contents();
+        try {
+            Long afterId = null;
+            List<Student> batch;
+            do {
+                batch = studentRepository.findNextOrderById(null, null, null, afterId, Limit.of(LOAD_BATCH_SIZE));
+                batch.forEach(student -> loaded.put(new Change(student.getId(), student.getUsername(), student.getLevel(),
+                        student.getVersion(), false)));
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            // Rows read before a change committed are corrected here; rows read after it ignore the replay
+            pending.forEach(loaded::apply);
+            pending = null;
+            contents = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        logger.info("Student search index built with {} students in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @EventListener
+    public void onChangeLog(StudentChangeLogEvent event) {
+        apply(event.getChanges().stream()
+                .map(change -> Change.of(change.student(), change.type() == StudentChangeEvent.Type.DELETED))
+                .toList());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChange(StudentChangeEvent event) {
+        apply(event.getStudents().stream()
+                .map(student -> Change.of(student, event.getType() == StudentChangeEvent.Type.DELETED))
+                .toList());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return contents.entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether {@link #search(String, Level, Sort)} can order by {@code sort} itself; only the indexed
+     * properties (id, username, level) are supported.
+     */
+    public static boolean canSort(Sort sort) {
+        return sort.stream().allMatch(order -> SORTABLE.contains(order.getProperty()));
+    }
+
+    /**
+     * Ids of the students whose id equals {@code term} or whose username contains it (case-insensitive),
+     * optionally restricted to {@code level}, ordered by {@code sort} and then by id. A term shorter than
+     * {@value #GRAM} characters has no gram to look up and only matches by id; callers should not send one.
+     */
+    public List<Long> search(String term, Level level, Sort sort) {
+        String needle = term.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            List<Entry> matches = new ArrayList<>();
+            if (needle.length() >= GRAM) {
+                for (long id : contents.candidates(needle, level)) {
+                    Entry entry = contents.entries.get(id);
+                    if (entry != null && entry.usernameLower().contains(needle)) {
+                        matches.add(entry);
+                    }
+                }
+            }
+            Entry byId = contents.exactIdMatch(term, level);
+            if (byId != null && !matches.contains(byId)) {
+                matches.add(byId);
+            }
+            matches.sort(comparator(sort));
+            return matches.stream().map(Entry::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(List<Change> changes) {
+        if (!enabled || changes.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            changes.forEach(contents::apply);
+            if (pending != null) {
+                pending.addAll(changes);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Comparator<Entry> comparator(Sort sort) {
+        Comparator<Entry> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<Entry> next = switch (order.getProperty()) {
+                case "username" -> Comparator.comparing(Entry::usernameLower);
+                // Levels are stored as EnumType.STRING, so the database orders them by name
+                case "level" -> Comparator.comparing((Entry e) -> e.level().name());
+                default -> Comparator.comparingLong(Entry::id);
+            };
+            next = order.isDescending() ? next.reversed() : next;
+            result = result == null ? next : result.thenComparing(next);
+        }
+        Comparator<Entry> byId = Comparator.comparingLong(Entry::id);
+        return result == null ? byId : result.thenComparing(byId);
+    }
+
+    /** One complete copy of the index: the entries, the gram posting lists and the level posting lists. */
+    private static final class Contents {
+        final Map<Long, Entry> entries = new HashMap<>();
+        final Map<Long, PostingList> grams = new HashMap<>();
+        final PostingList[] levels = new PostingList[Level.values().length];
+
+        Contents() {
+            for (int i = 0; i < levels.length; i++) {
+                levels[i] = new PostingList();
+            }
+        }
+
+        long[] candidates(String needle, Level level) {
+            List<PostingList> lists = new ArrayList<>();
+            for (long gram : grams(needle)) {
+                PostingList postings = grams.get(gram);
+                if (postings == null) {
+                    return new long[0];
+                }
+                lists.add(postings);
+            }
+            if (level != null) {
+                lists.add(levels[level.ordinal()]);
+            }
+            // Intersect smallest-first so the working set shrinks as fast as possible
+            lists.sort(Comparator.comparingInt(PostingList::size));
+            long[] result = lists.get(0).toArray();
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = lists.get(i).intersect(result);
+            }
+            return result;
+        }
+
+        Entry exactIdMatch(String term, Level level) {
+            long id;
+            try {
+                id = Long.parseLong(term);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            Entry entry = entries.get(id);
+            return entry != null && (level == null || entry.level() == level) ? entry : null;
+        }
+
+        void apply(Change change) {
+            if (change.deleted()) {
+                remove(change.id());
+            } else {
+                put(change);
+            }
+        }
+
+        void put(Change change) {
+            Entry current = entries.get(change.id());
+            if (current != null && current.version() != null && change.version() != null
+                    && change.version() < current.version()) {
+                return;
+            }
+            remove(change.id());
+            Entry entry = new Entry(change.id(), change.username().toLowerCase(Locale.ROOT), change.level(), change.version());
+            entries.put(entry.id(), entry);
+            for (long gram : grams(entry.usernameLower())) {
+                grams.computeIfAbsent(gram, g -> new PostingList()).add(entry.id());
+            }
+            levels[entry.level().ordinal()].add(entry.id());
+        }
+
+        void remove(long id) {
+            Entry previous = entries.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (long gram : grams(previous.usernameLower())) {
+                PostingList postings = grams.get(gram);
+                if (postings != null && postings.remove(id) && postings.size() == 0) {
+                    grams.remove(gram);
+                }
+            }
+            levels[previous.level().ordinal()].remove(id);
+        }
+    }
+
+    /** Distinct grams of {@code s}, each packed as three 16-bit chars into a long. */
+    private static long[] grams(String s) {
+        if (s.length() < GRAM) {
+            return new long[0];
+        }
+        long[] result = new long[s.length() - GRAM + 1];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+        }
+        return Arrays.stream(result).distinct().toArray();
+    }
+
+    private record Entry(long id, String usernameLower, Level level, Long version) {
+    }
+
+    private record Change(long id, String username, Level level, Long version, boolean deleted) {
+
+        static Change of(StudentDto student, boolean deleted) {
+            return new Change(student.getId(), student.getUsername(), student.getLevel(), student.getVersion(), deleted);
+        }
+    }
+
+    /**
+     * Sorted set of ids backed by a primitive array. Ids are mostly appended in ascending order
+     * (auto-increment keys), which keeps inserts amortised O(1).
+     */
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] < id) {
+                append(id);
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        /** Sorted intersection of this list with the sorted array {@code other}. */
+        long[] intersect(long[] other) {
+            long[] out = new long[Math.min(size, other.length)];
+            int i = 0, j = 0, n = 0;
+            while (i < size && j < other.length) {
+                if (ids[i] < other[j]) {
+                    i++;
+                } else if (ids[i] > other[j]) {
+                    j++;
+                } else {
+                    out[n++] = ids[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+
+        private void append(long id) {
+            ensureCapacity();
+            ids[size++] = id;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+}
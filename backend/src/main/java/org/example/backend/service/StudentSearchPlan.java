@@ -0,0 +1,101 @@
+package org.example.backend.service;
+
+import java.util.Locale;
+
+/**
+ * How a free-text {@code searchTerm} is answered, chosen from the shape of the term:
+ * <ul>
+ *     <li>{@link Strategy#PREFIX}: ends with {@value #WILDCARD} (e.g. {@code ali*}), or is shorter than
+ *     {@value #MIN_CONTAINS_LENGTH} characters, a range scan of the {@code username_lower} index;</li>
+ *     <li>{@link Strategy#CONTAINS}: anything else, a substring match that cannot use a database index
+ *     (the in-memory trigram index answers it when loaded);</li>
+ *     <li>{@link Strategy#ALL}: no term at all.</li>
+ * </ul>
+ * A term made of digits is matched as a username like any other and, through the primary key, as a
+ * student id too ({@link #getId()}), so {@code 42} finds student 42 as well as {@code student42}.
+ * Username values are lower-cased and escaped for {@code LIKE ... ESCAPE '!'}.
+ */
+public final class StudentSearchPlan {
+
+    public enum Strategy {
+        ALL, PREFIX, CONTAINS
+    }
+
+    public static final char WILDCARD = '*';
+    private static final char LIKE_ESCAPE = '!';
+    /**
+     * Shortest term matched as a substring. Shorter ones have no trigram and would match most of the
+     * roster, so they are matched as prefixes.
+     */
+    public static final int MIN_CONTAINS_LENGTH = 3;
+    /** Longest all-digit term that always fits a {@code long}. */
+    private static final int MAX_ID_DIGITS = 18;
+
+    private static final StudentSearchPlan ALL = new StudentSearchPlan(Strategy.ALL, null, null, null);
+
+    private final Strategy strategy;
+    private final Long id;
+    /** Lower-cased term without the wildcard, as typed. */
+    private final String term;
+    /** {@link #term} with LIKE metacharacters escaped. */
+    private final String likeValue;
+
+    private StudentSearchPlan(Strategy strategy, Long id, String term, String likeValue) {
+        this.strategy = strategy;
+        this.id = id;
+        this.term = term;
+        this.likeValue = likeValue;
+    }
+
+    public static StudentSearchPlan of(String searchTerm) {
+        String trimmed = searchTerm == null ? "" : searchTerm.trim();
+        if (trimmed.isEmpty() || trimmed.equals(String.valueOf(WILDCARD))) {
+            return ALL;
+        }
+        boolean wildcard = trimmed.charAt(trimmed.length() - 1) == WILDCARD;
+        String term = (wildcard ? trimmed.substring(0, trimmed.length() - 1) : trimmed).toLowerCase(Locale.ROOT);
+        boolean prefix = wildcard || term.length() < MIN_CONTAINS_LENGTH;
+        Long id = term.length() <= MAX_ID_DIGITS && term.chars().allMatch(c -> c >= '0' && c <= '9')
+                ? Long.parseLong(term) : null;
+        return new StudentSearchPlan(prefix ? Strategy.PREFIX : Strategy.CONTAINS, id, term, escapeLike(term));
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /** The student id an all-digit term also matches, {@code null} for any other term. */
+    public Long getId() {
+        return id;
+    }
+
+    /** The lower-cased term, without the prefix wildcard. */
+    public String getTerm() {
+        return term;
+    }
+
+    /** The term escaped for use inside a {@code LIKE} pattern with {@code ESCAPE '!'}. */
+    public String getLikeValue() {
+        return likeValue;
+    }
+
+    /** The complete {@code LIKE} pattern of a {@link Strategy#PREFIX} or {@link Strategy#CONTAINS} plan. */
+    public String getLikePattern() {
+        return switch (strategy) {
+            case PREFIX -> likeValue + "%";
+            case CONTAINS -> "%" + likeValue + "%";
+            default -> null;
+        };
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -1,21 +1,38 @@
 package org.example.backend.service;
 
 
+import org.example.backend.dto.ImportReport;
+import org.example.backend.dto.StudentBulkRequest;
+import org.example.backend.dto.StudentBulkResponse;
 import org.example.backend.dto.StudentCreateUpdateDto;
+import org.example.backend.dto.StudentCursorPage;
 import org.example.backend.dto.StudentDto;
+import org.example.backend.dto.StudentSlice;
+import org.example.backend.enums.ImportMode;
 import org.example.backend.enums.Level;
+import org.example.backend.enums.StudentSort;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Writer;
 
 public interface StudentService {
     Page<StudentDto> getAllStudents(String searchTerm, Level level, Pageable pageable);
+    StudentSlice getStudentSlice(String searchTerm, Level level, Pageable pageable);
+    StudentCursorPage getStudentsByCursor(String searchTerm, Level level, StudentSort sort, String cursor, int size);
     StudentDto getStudentById(Long id);
     StudentDto createStudent(StudentCreateUpdateDto dto);
     StudentDto updateStudent(Long id, StudentCreateUpdateDto dto);
+    /** Fails with a {@code PreconditionFailedException} unless {@code expectedVersion} is null or current. */
+    StudentDto updateStudent(Long id, StudentCreateUpdateDto dto, Long expectedVersion);
     void deleteStudent(Long id);
+    void deleteStudent(Long id, Long expectedVersion);
+    StudentBulkResponse applyBulk(StudentBulkRequest request);
     void exportStudents(Writer writer);
-    void importStudents(MultipartFile file);
+    /** Writes every student matching the filters to {@code output} as newline-delimited JSON, in id order. */
+    void streamStudents(String searchTerm, Level level, OutputStream output);
+    ImportReport importStudents(InputStream csv, ImportProgressListener progress);
+    ImportReport importStudents(InputStream csv, ImportMode mode, ImportProgressListener progress);
 }
@@ -1,102 +1,362 @@
 package org.example.backend.service;
 
 
-import com.opencsv.CSVReader;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.opencsv.CSVWriter;
-import com.opencsv.exceptions.CsvValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.config.ReadWriteRoutingDataSource;
+import org.example.backend.dto.ImportReport;
+import org.example.backend.dto.StudentBulkRequest;
+import org.example.backend.dto.StudentBulkResponse;
 import org.example.backend.dto.StudentCreateUpdateDto;
+import org.example.backend.dto.StudentCursorPage;
 import org.example.backend.dto.StudentDto;
+import org.example.backend.dto.StudentSlice;
 import org.example.backend.entity.Student;
+import org.example.backend.enums.ImportMode;
 import org.example.backend.enums.Level;
+import org.example.backend.enums.StudentSort;
+import org.example.backend.event.StudentChangeEvent;
+import org.example.backend.exception.BadRequestException;
+import org.example.backend.exception.PreconditionFailedException;
 import org.example.backend.exception.ResourceNotFoundException;
 import org.example.backend.mapper.StudentMapper;
 import org.example.backend.repository.StudentRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.io.Writer;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class StudentServiceImpl implements StudentService {
+    static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    static final int EXPORT_FLUSH_INTERVAL = 1000;
+    static final int MAX_BULK_ITEMS = 10_000;
+
     private final StudentRepository studentRepository;
     private final StudentMapper studentMapper;
+    private final StudentSearchIndex searchIndex;
+    private final StudentCountService studentCountService;
+    private final StudentImporter studentImporter;
+    private final StudentBulkProcessor studentBulkProcessor;
+    private final StudentCacheInvalidator studentCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<StudentDto> getAllStudents(String searchTerm, Level level, Pageable pageable) {
-        if ((searchTerm != null && !searchTerm.isEmpty()) || level != null) {
-            return studentRepository.findBySearchTermAndLevel(searchTerm, level, pageable).map(studentMapper::toDto);
+        StudentSearchPlan plan = plan(searchTerm);
+        if (useSearchIndex(plan, pageable)) {
+            return searchWithIndex(plan.getTerm(), level, pageable);
+        }
+        if (plan.getStrategy() == StudentSearchPlan.Strategy.ALL) {
+            Page<Student> page = level != null ? studentRepository.findByLevel(level, pageable) : studentRepository.findAll(pageable);
+            return page.map(studentMapper::toDto);
+        }
+        // The COUNT only runs when the slice alone cannot tell the total (e.g. a full first page)
+        List<StudentDto> content = search(plan, level, pageable).map(studentMapper::toDto).getContent();
+        return PageableExecutionUtils.getPage(content, pageable, () -> studentCountService.countExact(searchTerm, level));
+    }
+
+    private StudentSearchPlan plan(String searchTerm) {
+        StudentSearchPlan plan = StudentSearchPlan.of(searchTerm);
+        if (plan.getStrategy() != StudentSearchPlan.Strategy.ALL) {
+            meterRegistry.counter("students.search", "strategy", plan.getStrategy().name().toLowerCase(Locale.ROOT)).increment();
+        }
+        return plan;
+    }
+
+    /** Substring searches are answered from the in-memory index when it is loaded; other strategies use an index in the database. */
+    private boolean useSearchIndex(StudentSearchPlan plan, Pageable pageable) {
+        return plan.getStrategy() == StudentSearchPlan.Strategy.CONTAINS && searchIndex.isReady()
+                && StudentSearchIndex.canSort(pageable.getSort());
+    }
+
+    /** Runs the repository query of the plan's strategy; never issues a COUNT. */
+    private Slice<Student> search(StudentSearchPlan plan, Level level, Pageable pageable) {
+        if (plan.getId() != null) {
+            return studentRepository.findSliceByUsernameLikeOrId(plan.getLikePattern(), plan.getId(), level, pageable);
+        }
+        return switch (plan.getStrategy()) {
+            case ALL -> level != null ? studentRepository.findSliceByLevel(level, pageable) : studentRepository.findAllBy(pageable);
+            case PREFIX -> level != null
+                    ? studentRepository.findSliceByUsernamePrefixAndLevel(plan.getLikeValue(), level, pageable)
+                    : studentRepository.findSliceByUsernamePrefix(plan.getLikeValue(), pageable);
+            case CONTAINS -> level != null
+                    ? studentRepository.findSliceByUsernameContainingAndLevel(plan.getLikeValue(), level, pageable)
+                    : studentRepository.findSliceByUsernameContaining(plan.getLikeValue(), pageable);
+        };
+    }
+
+    /**
+     * Resolves the matching ids from the in-memory index and loads only the rows of the requested page.
+     */
+    private Page<StudentDto> searchWithIndex(String searchTerm, Level level, Pageable pageable) {
+        List<Long> ids = searchIndex.search(searchTerm, level, pageable.getSort());
+        List<Long> pageIds = ids;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), ids.size());
+            pageIds = ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()));
+        }
+        Map<Long, Student> rows = studentRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        List<StudentDto> content = pageIds.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(studentMapper::toDto)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    /**
+     * One query per page: the rows come from a {@link Slice} query (no {@code COUNT}) and the total from
+     * {@link StudentCountService}. Index-backed searches know their exact total for free.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public StudentSlice getStudentSlice(String searchTerm, Level level, Pageable pageable) {
+        StudentSearchPlan plan = plan(searchTerm);
+        if (useSearchIndex(plan, pageable)) {
+            Page<StudentDto> page = searchWithIndex(plan.getTerm(), level, pageable);
+            return toSlice(page, page.getTotalElements(), true);
+        }
+        Slice<StudentDto> slice = search(plan, level, pageable).map(studentMapper::toDto);
+        long total = studentCountService.count(searchTerm, level);
+        // A stale estimate must not claim fewer rows than the client can already see
+        long seen = (pageable.isPaged() ? pageable.getOffset() : 0) + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        return toSlice(slice, Math.max(total, seen), studentCountService.isExact(searchTerm));
+    }
+
+    private static StudentSlice toSlice(Slice<StudentDto> slice, long total, boolean exact) {
+        return StudentSlice.builder()
+                .content(slice.getContent())
+                .number(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .totalElements(total)
+                .totalExact(exact)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudentCursorPage getStudentsByCursor(String searchTerm, Level level, StudentSort sort, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        StudentSearchPlan plan = plan(searchTerm);
+        StudentCursor after = (cursor == null || cursor.isEmpty()) ? null : StudentCursor.decode(cursor, sort);
+
+        // Fetch one extra row to learn whether another slice follows without running a COUNT
+        List<Student> rows;
+        if (sort == StudentSort.USERNAME) {
+            rows = studentRepository.findNextOrderByUsername(plan.getLikePattern(), plan.getId(), level,
+                    after != null ? after.getUsername() : null, after != null ? after.getId() : null, Limit.of(limit + 1));
         } else {
-            return studentRepository.findAll(pageable).map(studentMapper::toDto);
+            rows = studentRepository.findNextOrderById(plan.getLikePattern(), plan.getId(), level,
+                    after != null ? after.getId() : null, Limit.of(limit + 1));
         }
+
+        boolean hasNext = rows.size() > limit;
+        List<Student> slice = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? StudentCursor.after(sort, slice.get(slice.size() - 1)).encode() : null;
+        return StudentCursorPage.builder()
+                .content(slice.stream().map(studentMapper::toDto).toList())
+                .size(limit)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
     }
 
+    /**
+     * Read-through cached by {@link StudentCacheInvalidator}, which evicts entries after commit on this
+     * node and, through its transport, on every other node, and does not cache a miss that raced an
+     * eviction. Misses are read from the primary: a lagging replica would put the evicted version straight
+     * back into the cache.
+     */
     @Override
     public StudentDto getStudentById(Long id) {
-        return studentRepository.findById(id)
+        return studentCache.get(id, () -> ReadWriteRoutingDataSource.onPrimary(() -> studentRepository.findById(id))
                 .map(studentMapper::toDto)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + id)));
     }
 
     @Override
+    @Transactional
     public StudentDto createStudent(StudentCreateUpdateDto dto) {
         Student student = studentMapper.toEntity(dto);
-        return studentMapper.toDto(studentRepository.save(student));
+        StudentDto created = studentMapper.toDto(studentRepository.saveAndFlush(student));
+        eventPublisher.publishEvent(StudentChangeEvent.created(created));
+        return created;
     }
 
     @Override
+    @Transactional
     public StudentDto updateStudent(Long id, StudentCreateUpdateDto dto) {
+        return updateStudent(id, dto, null);
+    }
+
+    @Override
+    @Transactional
+    public StudentDto updateStudent(Long id, StudentCreateUpdateDto dto, Long expectedVersion) {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + id));
+        checkVersion(student, expectedVersion);
+        StudentDto previous = studentMapper.toDto(student);
         studentMapper.updateFromDto(dto, student);
-        return studentMapper.toDto(studentRepository.save(student));
+        // Flush now so the returned DTO (and its ETag) carries the incremented version
+        StudentDto updated = studentMapper.toDto(studentRepository.saveAndFlush(student));
+        eventPublisher.publishEvent(StudentChangeEvent.updated(previous, updated));
+        return updated;
     }
 
     @Override
+    @Transactional
     public void deleteStudent(Long id) {
-        if (!studentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Student not found with id " + id);
+        deleteStudent(id, null);
+    }
+
+    @Override
+    @Transactional
+    public void deleteStudent(Long id, Long expectedVersion) {
+        Student student = studentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + id));
+        checkVersion(student, expectedVersion);
+        studentRepository.delete(student);
+        eventPublisher.publishEvent(StudentChangeEvent.deleted(studentMapper.toDto(student)));
+    }
+
+    /**
+     * The read above only narrows the window; Hibernate's versioned UPDATE/DELETE still fails with an
+     * optimistic locking exception if another writer commits in between.
+     */
+    private static void checkVersion(Student student, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(student.getVersion())) {
+            throw new PreconditionFailedException("Student " + student.getId() + " is at version " + student.getVersion()
+                    + ", not " + expectedVersion);
         }
-        studentRepository.deleteById(id);
     }
 
     @Override
+    public StudentBulkResponse applyBulk(StudentBulkRequest request) {
+        int items = size(request.getCreates()) + size(request.getUpdates()) + size(request.getDeletes());
+        if (items > MAX_BULK_ITEMS) {
+            throw new BadRequestException("A bulk request may contain at most " + MAX_BULK_ITEMS + " items, got " + items);
+        }
+        return studentBulkProcessor.process(request);
+    }
+
+    private static int size(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+
+    /**
+     * Streams the roster straight from a forward-only cursor to the writer. Rows are detached as soon as
+     * they are written and the output is flushed every {@value #EXPORT_FLUSH_INTERVAL} rows, so heap use
+     * does not grow with the roster and the client starts receiving data immediately.
+     */
+    @Override
+    @Transactional(readOnly = true)
     public void exportStudents(Writer writer) {
-        try (CSVWriter csvWriter = new CSVWriter(writer)) {
+        CSVWriter csvWriter = new CSVWriter(writer);
+        try (Stream<Student> students = studentRepository.streamAllOrderById()) {
             csvWriter.writeNext(new String[]{"ID", "Username", "Level"});
-            studentRepository.findAll().forEach(student ->
-                    csvWriter.writeNext(new String[]{
-                            String.valueOf(student.getId()),
-                            student.getUsername(),
-                            student.getLevel().name()
-                    })
-            );
+            int written = 0;
+            for (Student student : (Iterable<Student>) students::iterator) {
+                csvWriter.writeNext(new String[]{
+                        String.valueOf(student.getId()),
+                        student.getUsername(),
+                        student.getLevel().name()
+                });
+                entityManager.detach(student);
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    csvWriter.flush();
+                }
+            }
+            csvWriter.flush();
+            meterRegistry.counter("students.export.rows").increment(written);
+            if (csvWriter.checkError()) {
+                throw new IOException("Error writing CSV output");
+            }
         } catch (IOException e) {
             throw new RuntimeException("Failed to export students to CSV", e);
         }
     }
 
+    /**
+     * Same cursor discipline as {@link #exportStudents}: rows arrive {@value StudentRepository#STREAM_FETCH_SIZE}
+     * at a time, each is detached once written and the output is flushed every
+     * {@value #EXPORT_FLUSH_INTERVAL} rows. Writes block while the client is not reading, which holds the
+     * cursor where it is instead of buffering rows.
+     */
     @Override
-    public void importStudents(MultipartFile file) {
-        try (CSVReader csvReader = new CSVReader(new InputStreamReader(file.getInputStream()))) {
-            String[] nextRecord;
-            List<Student> students = new ArrayList<>();
-            csvReader.readNext(); // Skip header
-            while ((nextRecord = csvReader.readNext()) != null) {
-                Student student = new Student();
-                student.setUsername(nextRecord[1]);
-                student.setLevel(Level.valueOf(nextRecord[2]));
-                students.add(student);
+    @Transactional(readOnly = true)
+    public void streamStudents(String searchTerm, Level level, OutputStream output) {
+        StudentSearchPlan plan = plan(searchTerm);
+        try (SequenceWriter writer = objectMapper.writerFor(StudentDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(output)) {
+            int written = 0;
+            try (Stream<Student> students = studentRepository.streamMatchingOrderById(plan.getLikePattern(), plan.getId(), level)) {
+                for (Student student : (Iterable<Student>) students::iterator) {
+                    writer.write(studentMapper.toDto(student));
+                    entityManager.detach(student);
+                    if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                }
+            }
+            // The separator only goes between values, so end the last line explicitly
+            writer.flush();
+            if (written > 0) {
+                output.write('\n');
             }
-            studentRepository.saveAll(students);
-        } catch (IOException | CsvValidationException e) {
+            output.flush();
+            meterRegistry.counter("students.stream.rows").increment(written);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to stream students", e);
+        }
+    }
+
+    @Override
+    public ImportReport importStudents(InputStream csv, ImportProgressListener progress) {
+        return importStudents(csv, ImportMode.INSERT, progress);
+    }
+
+    @Override
+    public ImportReport importStudents(InputStream csv, ImportMode mode, ImportProgressListener progress) {
+        try (Reader reader = new InputStreamReader(csv, StandardCharsets.UTF_8)) {
+            return studentImporter.importCsv(reader, mode, progress);
+        } catch (IOException e) {
             throw new RuntimeException("Failed to import students from CSV", e);
         }
     }
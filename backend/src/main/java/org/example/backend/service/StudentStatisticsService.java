@@ -0,0 +1,13 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.StudentStatistics;
+import org.example.backend.enums.Level;
+
+public interface StudentStatisticsService {
+    /** Whether the counters have been seeded; until then callers should count in the database. */
+    boolean isReady();
+    StudentStatistics getStatistics();
+    long count(Level level);
+    long total();
+    void reconcile();
+}
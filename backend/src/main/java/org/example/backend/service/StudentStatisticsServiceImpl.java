@@ -0,0 +1,203 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.config.ReadWriteRoutingDataSource;
+import org.example.backend.dto.StudentStatistics;
+import org.example.backend.enums.Level;
+import org.example.backend.event.LoggedStudentChange;
+import org.example.backend.event.StudentChangeLogEvent;
+import org.example.backend.repository.StudentChangeLogRepository;
+import org.example.backend.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-level roster counters, one slot per {@link Level} constant, so statistics reads never touch the
+ * database. They follow the {@code student_changes} log through {@link StudentChangeLogEvent}s, so they move
+ * with every create, update, delete, bulk call and import on any node, and know the log position they are
+ * exact at. Seeded at startup and periodically reconciled against the database, see {@link #reconcile()}.
+ * <p>
+ * Each slot is updated atomically; the total is the sum of the slots, so while a level move is being
+ * applied a reader may briefly see it off by one.
+ */
+@Service
+public class StudentStatisticsServiceImpl implements StudentStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentStatisticsServiceImpl.class);
+
+    private static final Level[] LEVELS = Level.values();
+    /** Changes past the counters' position that a reconciliation is willing to read back. */
+    static final int MAX_RECONCILE_CHANGES = 10_000;
+
+    private final StudentRepository studentRepository;
+    private final StudentChangeLogRepository changeLogRepository;
+    private final StudentChangeLog changeLog;
+    private final TransactionTemplate snapshot;
+    private final AtomicLongArray counts = new AtomicLongArray(LEVELS.length);
+    private final Counter drift;
+
+    /** Guarded by {@code this}: changes at or below this log sequence value are in the counters. */
+    private long appliedUpTo = -1;
+    private volatile boolean ready;
+    private volatile Instant reconciledAt;
+
+    public StudentStatisticsServiceImpl(StudentRepository studentRepository,
+                                        StudentChangeLogRepository changeLogRepository,
+                                        StudentChangeLog changeLog,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry) {
+        this.studentRepository = studentRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.changeLog = changeLog;
+        // One consistent snapshot for the GROUP BY and the changes read next to it
+        this.snapshot = new TransactionTemplate(transactionManager);
+        this.snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshot.setReadOnly(true);
+        this.drift = meterRegistry.counter("students.statistics.drift");
+        for (Level level : LEVELS) {
+            Gauge.builder("students.roster", counts, c -> c.get(level.ordinal()))
+                    .tag("level", level.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public StudentStatistics getStatistics() {
+        Map<Level, Long> levels = new EnumMap<>(Level.class);
+        long total = 0;
+        for (Level level : LEVELS) {
+            long count = counts.get(level.ordinal());
+            levels.put(level, count);
+            total += count;
+        }
+        return StudentStatistics.builder()
+                .total(total)
+                .levels(levels)
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    @Override
+    public long count(Level level) {
+        return counts.get(level.ordinal());
+    }
+
+    @Override
+    public long total() {
+        long total = 0;
+        for (int i = 0; i < LEVELS.length; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    @EventListener
+    public synchronized void onChangeLog(StudentChangeLogEvent event) {
+        long[] effect = new long[LEVELS.length];
+        for (LoggedStudentChange change : event.getChanges()) {
+            if (change.seq() > appliedUpTo) {
+                apply(change, effect);
+            }
+        }
+        for (int i = 0; i < effect.length; i++) {
+            counts.addAndGet(i, effect[i]);
+        }
+        appliedUpTo = Math.max(appliedUpTo, event.getHighWaterMark());
+    }
+
+    /**
+     * Corrects the counters against a {@code GROUP BY}. The counters are exact at their log position
+     * {@code H}, the query at some later point; so in the same snapshot it also reads the changes after
+     * {@code H}, takes their effect off the query result to get the counts at {@code H}, and adds the
+     * difference from the counters as they were at {@code H}. Changes applied while this runs are neither
+     * lost nor counted twice. If too many changes are past {@code H} it waits for the next run. The
+     * reads run on the primary, the log position being the primary's.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.statistics.reconcile-interval:PT5M}",
+            initialDelayString = "${app.statistics.reconcile-interval:PT5M}")
+    public void reconcile() {
+        // Read before taking the lock: the log may be polling and waiting for it to publish here
+        long highWaterMark = changeLog.highWaterMark();
+        long position;
+        long[] atPosition = new long[LEVELS.length];
+        synchronized (this) {
+            // Changes up to the high-water mark have all been published, before or without this listener
+            appliedUpTo = Math.max(appliedUpTo, highWaterMark);
+            position = appliedUpTo;
+            for (int i = 0; i < atPosition.length; i++) {
+                atPosition[i] = counts.get(i);
+            }
+        }
+        long[] actual = ReadWriteRoutingDataSource.onPrimary(() -> snapshot.execute(status -> countAt(position)));
+        if (actual == null) {
+            logger.debug("Too many student changes past the statistics, reconciling next run");
+            return;
+        }
+        long difference = 0;
+        for (int i = 0; i < actual.length; i++) {
+            long correction = actual[i] - atPosition[i];
+            counts.addAndGet(i, correction);
+            difference += Math.abs(correction);
+        }
+        if (ready && difference > 0) {
+            drift.increment(difference);
+            logger.info("Student statistics reconciled, corrected a drift of {}", difference);
+        }
+        reconciledAt = Instant.now();
+        ready = true;
+    }
+
+    /** The per-level counts as of log position {@code position}, or {@code null} if too far behind. */
+    private long[] countAt(long position) {
+        long[] counted = new long[LEVELS.length];
+        for (Object[] row : studentRepository.countGroupByLevel()) {
+            counted[((Level) row[0]).ordinal()] = ((Number) row[1]).longValue();
+        }
+        List<LoggedStudentChange> later = changeLogRepository.findBetween(position, Long.MAX_VALUE, MAX_RECONCILE_CHANGES + 1);
+        if (later.size() > MAX_RECONCILE_CHANGES) {
+            return null;
+        }
+        long[] effect = new long[LEVELS.length];
+        later.forEach(change -> apply(change, effect));
+        for (int i = 0; i < counted.length; i++) {
+            counted[i] -= effect[i];
+        }
+        return counted;
+    }
+
+    private static void apply(LoggedStudentChange change, long[] effect) {
+        int slot = change.student().getLevel().ordinal();
+        switch (change.type()) {
+            case CREATED, IMPORTED -> effect[slot]++;
+            case DELETED -> effect[slot]--;
+            case UPDATED -> {
+                if (change.previousLevel() != null) {
+                    effect[change.previousLevel().ordinal()]--;
+                    effect[slot]++;
+                }
+            }
+        }
+    }
+}
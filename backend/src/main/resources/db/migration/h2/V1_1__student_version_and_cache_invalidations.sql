@@ -0,0 +1,8 @@
+ALTER TABLE students ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE TABLE IF NOT EXISTS student_cache_invalidations (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    origin     VARCHAR(64)              NOT NULL,
+    student_id BIGINT,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,14 @@
+-- H2 twin of db/migration/mysql, used by the tests (MODE=MySQL).
+CREATE TABLE IF NOT EXISTS admins (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    password VARCHAR(255) NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_admins_username UNIQUE (username)
+);
+
+CREATE TABLE IF NOT EXISTS students (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    level    VARCHAR(255) NOT NULL CHECK (level IN ('FIRST_GRADE','SECOND_GRADE','THIRD_GRADE','FOURTH_GRADE','FIFTH_GRADE')),
+    username VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_students_username UNIQUE (username)
+);
@@ -0,0 +1,7 @@
+ALTER TABLE students ADD COLUMN username_lower VARCHAR(255) GENERATED ALWAYS AS (LOWER(username));
+
+CREATE INDEX idx_students_level_username ON students (level, username);
+
+CREATE INDEX idx_students_username_lower ON students (username_lower);
+
+CREATE INDEX idx_student_cache_invalidations_created_at ON student_cache_invalidations (created_at);
@@ -0,0 +1 @@
+CREATE INDEX idx_students_level_username_lower ON students (level, username_lower);
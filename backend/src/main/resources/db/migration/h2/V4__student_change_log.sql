@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS student_changes (
+    seq            BIGINT AUTO_INCREMENT PRIMARY KEY,
+    student_id     BIGINT       NOT NULL,
+    change_type    VARCHAR(16)  NOT NULL,
+    username       VARCHAR(255) NOT NULL,
+    level          VARCHAR(32)  NOT NULL,
+    previous_level VARCHAR(32),
+    version        BIGINT,
+    changed_at     TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_student_changes_changed_at ON student_changes (changed_at);
+
+CREATE TABLE IF NOT EXISTS student_change_purge (
+    id         TINYINT PRIMARY KEY,
+    purged_seq BIGINT NOT NULL
+);
+
+INSERT INTO student_change_purge (id, purged_seq) VALUES (1, 0);
@@ -0,0 +1,18 @@
+CREATE TABLE IF NOT EXISTS student_import_jobs (
+    job_id          VARCHAR(36) PRIMARY KEY,
+    file_name       VARCHAR(255),
+    mode            VARCHAR(16)  NOT NULL,
+    state           VARCHAR(16)  NOT NULL,
+    submitted_at    TIMESTAMP(6) NOT NULL,
+    started_at      TIMESTAMP(6),
+    finished_at     TIMESTAMP(6),
+    rows_processed  BIGINT       NOT NULL,
+    inserted        BIGINT       NOT NULL,
+    rejected        BIGINT       NOT NULL,
+    rows_per_second DOUBLE       NOT NULL,
+    report          CLOB,
+    error           CLOB,
+    updated_at      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_student_import_jobs_finished_at ON student_import_jobs (finished_at);
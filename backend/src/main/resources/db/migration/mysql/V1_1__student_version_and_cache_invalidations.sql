@@ -0,0 +1,11 @@
+-- Added after the ddl-auto era, so databases baselined at V1 still need them: the optimistic-locking
+-- version (metadata-only add, existing rows start at 0) and the cross-node cache invalidation log.
+ALTER TABLE students ADD COLUMN version BIGINT NOT NULL DEFAULT 0, ALGORITHM = INSTANT;
+
+CREATE TABLE IF NOT EXISTS student_cache_invalidations (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    origin     VARCHAR(64) NOT NULL,
+    student_id BIGINT,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
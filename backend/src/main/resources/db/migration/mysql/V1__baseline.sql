@@ -0,0 +1,16 @@
+-- Schema as previously created by Hibernate ddl-auto. Existing databases are baselined at this version.
+CREATE TABLE IF NOT EXISTS admins (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    password VARCHAR(255) NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_admins_username (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS students (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    level    ENUM ('FIRST_GRADE','SECOND_GRADE','THIRD_GRADE','FOURTH_GRADE','FIFTH_GRADE') NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_students_username (username)
+) ENGINE = InnoDB;
@@ -0,0 +1,13 @@
+-- username_lower is VIRTUAL: adding it is a metadata-only change, and the index below stores the
+-- lower-cased values. Both index builds run online (INPLACE, no table lock) on large tables.
+ALTER TABLE students
+    ADD COLUMN username_lower VARCHAR(255) GENERATED ALWAYS AS (LOWER(username)) VIRTUAL;
+
+-- Level filters, optionally ordered by username
+CREATE INDEX idx_students_level_username ON students (level, username) ALGORITHM = INPLACE LOCK = NONE;
+
+-- Case-insensitive username lookups and searches without LOWER() on the indexed column
+CREATE INDEX idx_students_username_lower ON students (username_lower) ALGORITHM = INPLACE LOCK = NONE;
+
+-- Purge of old invalidations by age
+CREATE INDEX idx_student_cache_invalidations_created_at ON student_cache_invalidations (created_at) ALGORITHM = INPLACE LOCK = NONE;
@@ -0,0 +1,2 @@
+-- Prefix searches within a level: equality on level, then a range on the lower-cased username
+CREATE INDEX idx_students_level_username_lower ON students (level, username_lower) ALGORITHM = INPLACE LOCK = NONE;
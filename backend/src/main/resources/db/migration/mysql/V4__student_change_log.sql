@@ -0,0 +1,24 @@
+-- Delta sync. Every committed write appends one row per student to student_changes, whose seq is the change
+-- sequence; it is an AUTO_INCREMENT, so concurrent writers never wait on each other for their values. Nothing
+-- is backfilled: students written before this version are only part of full syncs, which read the table itself.
+CREATE TABLE IF NOT EXISTS student_changes (
+    seq            BIGINT       NOT NULL AUTO_INCREMENT,
+    student_id     BIGINT       NOT NULL,
+    change_type    VARCHAR(16)  NOT NULL,
+    username       VARCHAR(255) NOT NULL,
+    level          VARCHAR(32)  NOT NULL,
+    previous_level VARCHAR(32),
+    version        BIGINT,
+    changed_at     DATETIME(6)  NOT NULL,
+    PRIMARY KEY (seq),
+    KEY idx_student_changes_changed_at (changed_at)
+) ENGINE = InnoDB;
+
+-- Single row, only written by the retention purge: changes at or below purged_seq have been deleted.
+CREATE TABLE IF NOT EXISTS student_change_purge (
+    id         TINYINT NOT NULL,
+    purged_seq BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO student_change_purge (id, purged_seq) VALUES (1, 0);
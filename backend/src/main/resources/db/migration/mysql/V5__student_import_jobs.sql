@@ -0,0 +1,20 @@
+-- Background CSV import jobs. A job runs on the node that took the upload, which writes its state and
+-- progress here so that a status poll can land on any node. updated_at is the running node's heartbeat.
+CREATE TABLE IF NOT EXISTS student_import_jobs (
+    job_id          VARCHAR(36)  NOT NULL,
+    file_name       VARCHAR(255),
+    mode            VARCHAR(16)  NOT NULL,
+    state           VARCHAR(16)  NOT NULL,
+    submitted_at    DATETIME(6)  NOT NULL,
+    started_at      DATETIME(6),
+    finished_at     DATETIME(6),
+    rows_processed  BIGINT       NOT NULL,
+    inserted        BIGINT       NOT NULL,
+    rejected        BIGINT       NOT NULL,
+    rows_per_second DOUBLE       NOT NULL,
+    report          MEDIUMTEXT,
+    error           TEXT,
+    updated_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (job_id),
+    KEY idx_student_import_jobs_finished_at (finished_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,54 @@
+package org.example.backend;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.config.CacheConfig;
+import org.example.backend.dto.AdminRegistrationRequest;
+import org.example.backend.service.AdminDetailsCache;
+import org.example.backend.service.AdminService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AdminDetailsCacheTest {
+
+    @Autowired
+    private AdminDetailsCache adminDetailsCache;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void load_shouldServeRepeatedLookupsFromCacheWithoutPasswordHash() {
+        AdminRegistrationRequest request = new AdminRegistrationRequest();
+        request.setUsername("cached-admin");
+        request.setPassword("password");
+        adminService.register(request);
+        double hitsBefore = gets("hit");
+        double missesBefore = gets("miss");
+
+        UserDetails first = adminDetailsCache.load("cached-admin");
+        UserDetails second = adminDetailsCache.load("cached-admin");
+
+        assertSame(first, second);
+        assertEquals("", first.getPassword());
+        assertEquals(1, gets("hit") - hitsBefore);
+        assertEquals(1, gets("miss") - missesBefore);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CacheConfig.ADMIN_DETAILS)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
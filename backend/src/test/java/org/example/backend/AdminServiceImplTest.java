@@ -7,6 +7,7 @@ import org.example.backend.dto.AuthenticationRequest;
 import org.example.backend.entity.Admin;
 import org.example.backend.exception.ConflictException;
 import org.example.backend.repository.AdminRepository;
+import org.example.backend.service.AdminDetailsCache;
 import org.example.backend.service.AdminServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -45,6 +46,9 @@ class AdminServiceImplTest {
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Mock
+    private AdminDetailsCache adminDetailsCache;
+
     @InjectMocks
     private AdminServiceImpl adminService;
 
@@ -59,6 +63,7 @@ class AdminServiceImplTest {
         adminService.register(request);
 
         verify(adminRepository).save(any(Admin.class));
+        verify(adminDetailsCache).evict("admin");
     }
 
     @Test
@@ -1,13 +1,50 @@
 package org.example.backend;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests export no metrics unless asked to
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
 class BackendApplicationTests {
 
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@LocalServerPort
+	private int port;
+
+	@LocalManagementPort
+	private int managementPort;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void actuatorShouldOnlyBeOpenOnTheManagementPort() {
+		assertEquals(HttpStatus.OK, get(managementPort, "/actuator/health").getStatusCode());
+		ResponseEntity<String> metrics = get(managementPort, "/actuator/prometheus");
+		assertEquals(HttpStatus.OK, metrics.getStatusCode());
+		assertTrue(metrics.getBody().contains("jvm_memory_used_bytes"));
+
+		assertEquals(HttpStatus.FORBIDDEN, get(port, "/actuator/prometheus").getStatusCode());
+		assertEquals(HttpStatus.FORBIDDEN, get(port, "/actuator/health").getStatusCode());
+	}
+
+	private ResponseEntity<String> get(int port, String path) {
+		return restTemplate.getForEntity("http://localhost:" + port + path, String.class);
+	}
+
 }
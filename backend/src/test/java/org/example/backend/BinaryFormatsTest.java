@@ -0,0 +1,112 @@
+package org.example.backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnknownFieldSet;
+import org.example.backend.config.BinaryFormatsConfig;
+import org.example.backend.controller.StudentController;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.dto.StudentSlice;
+import org.example.backend.enums.Level;
+import org.example.backend.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class BinaryFormatsTest {
+
+    private static final List<StudentDto> STUDENTS = List.of(
+            new StudentDto(300L, "alice", Level.SECOND_GRADE, 2L),
+            new StudentDto(301L, "bob", Level.FIRST_GRADE, 0L));
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        StudentService studentService = mock(StudentService.class);
+        when(studentService.getAllStudents(isNull(), isNull(), any()))
+                .thenReturn(new PageImpl<>(STUDENTS, PageRequest.of(0, 20), 2));
+        when(studentService.getStudentSlice(isNull(), isNull(), any()))
+                .thenReturn(new StudentSlice(STUDENTS, 0, 20, true, 50, true));
+
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(new MappingJackson2HttpMessageConverter()));
+        new BinaryFormatsConfig().extendMessageConverters(converters);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StudentController(studentService, null, null, null, null))
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .setMessageConverters(converters.toArray(HttpMessageConverter[]::new))
+                .build();
+    }
+
+    @Test
+    void jsonShouldStayTheDefault() throws Exception {
+        MockHttpServletResponse response = fetch("/api/students", "*/*");
+
+        assertTrue(response.getContentType().startsWith("application/json"));
+        assertTrue(response.getContentAsString().contains("\"pageable\""));
+        assertTrue(response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    void cborShouldWriteLevelsAsIndexesAndACompactPage() throws Exception {
+        MockHttpServletResponse response = fetch("/api/students", "application/cbor");
+
+        assertEquals("application/cbor", response.getContentType());
+        JsonNode page = BinaryFormatsConfig.cborMapper().readTree(response.getContentAsByteArray());
+        assertEquals(1, page.get("content").get(0).get("level").intValue());
+        assertEquals(2, page.get("totalElements").longValue());
+        assertNull(page.get("pageable"));
+        assertNull(page.get("sort"));
+    }
+
+    @Test
+    void smileShouldRoundTripStudents() throws Exception {
+        MockHttpServletResponse response = fetch("/api/students/slice", "application/x-jackson-smile");
+
+        StudentSlice slice = BinaryFormatsConfig.smileMapper().readValue(response.getContentAsByteArray(), StudentSlice.class);
+        assertEquals(STUDENTS, slice.getContent());
+        assertTrue(slice.isHasNext());
+    }
+
+    @Test
+    void protobufShouldEncodeSliceWithVarintIdsAndLevelOrdinals() throws Exception {
+        MockHttpServletResponse response = fetch("/api/students/slice", "application/x-protobuf");
+
+        assertEquals("application/x-protobuf", response.getContentType());
+        UnknownFieldSet slice = UnknownFieldSet.parseFrom(response.getContentAsByteArray());
+        List<ByteString> content = slice.getField(1).getLengthDelimitedList();
+        assertEquals(2, content.size());
+        UnknownFieldSet alice = UnknownFieldSet.parseFrom(content.get(0));
+        assertEquals(List.of(300L), alice.getField(1).getVarintList());
+        assertEquals("alice", alice.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals(List.of(1L), alice.getField(3).getVarintList());
+        assertEquals(List.of(2L), alice.getField(4).getVarintList());
+        // Defaults are omitted: bob is FIRST_GRADE (0) at version 0
+        UnknownFieldSet bob = UnknownFieldSet.parseFrom(content.get(1));
+        assertFalse(bob.hasField(3));
+        assertFalse(bob.hasField(4));
+        assertEquals(List.of(50L), slice.getField(4).getVarintList());
+        assertEquals(List.of(1L), slice.getField(6).getVarintList());
+    }
+
+    private MockHttpServletResponse fetch(String path, String accept) throws Exception {
+        return mockMvc.perform(get(path).header(HttpHeaders.ACCEPT, accept)).andReturn().getResponse();
+    }
+}
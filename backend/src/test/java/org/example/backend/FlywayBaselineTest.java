@@ -0,0 +1,38 @@
+package org.example.backend;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlywayBaselineTest {
+
+    @Test
+    void migrate_shouldUpgradeADatabaseCreatedByDdlAuto() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:baseline;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // What the application created before Flyway, with ddl-auto: update
+        jdbcTemplate.execute("CREATE TABLE admins (id BIGINT AUTO_INCREMENT PRIMARY KEY, password VARCHAR(255) NOT NULL, "
+                + "username VARCHAR(255) NOT NULL UNIQUE)");
+        jdbcTemplate.execute("CREATE TABLE students (id BIGINT AUTO_INCREMENT PRIMARY KEY, level VARCHAR(255) NOT NULL, "
+                + "username VARCHAR(255) NOT NULL UNIQUE)");
+        jdbcTemplate.update("INSERT INTO students (level, username) VALUES ('FIRST_GRADE', 'alice')");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM students WHERE username = 'alice'", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_cache_invalidations", Integer.class));
+        assertEquals("alice", jdbcTemplate.queryForObject(
+                "SELECT username FROM students WHERE username_lower = 'alice'", String.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_changes", Integer.class));
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.backend;
+
+import org.example.backend.dto.ImportError;
+import org.example.backend.dto.ImportJobStatus;
+import org.example.backend.dto.ImportReport;
+import org.example.backend.enums.ImportJobState;
+import org.example.backend.enums.ImportMode;
+import org.example.backend.repository.ImportJobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ImportJobRepositoryTest {
+
+    @Autowired
+    private ImportJobRepository jobRepository;
+
+    @Test
+    void update_shouldStoreStateProgressAndReport() {
+        ImportJobStatus job = queued();
+        jobRepository.insert(job);
+
+        job.setState(ImportJobState.COMPLETED);
+        job.setStartedAt(job.getSubmittedAt());
+        job.setFinishedAt(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        job.setRowsProcessed(3);
+        job.setInserted(2);
+        job.setRejected(1);
+        job.setReport(ImportReport.builder().totalRows(3).inserted(2).rejected(1)
+                .errors(List.of(new ImportError(4, "Unknown level SIXTH_GRADE"))).build());
+        jobRepository.update(job);
+
+        assertEquals(job, jobRepository.findById(job.getJobId()).orElseThrow());
+    }
+
+    @Test
+    void failAbandoned_shouldFailUnfinishedJobsThatNobodyTouched() throws InterruptedException {
+        ImportJobStatus abandoned = queued();
+        ImportJobStatus alive = queued();
+        jobRepository.insert(abandoned);
+        jobRepository.insert(alive);
+        Thread.sleep(5);
+        Instant staleBefore = Instant.now();
+        Thread.sleep(5);
+        jobRepository.touch(List.of(alive.getJobId()));
+
+        jobRepository.failAbandoned(staleBefore, "gone");
+
+        ImportJobStatus failed = jobRepository.findById(abandoned.getJobId()).orElseThrow();
+        assertEquals(ImportJobState.FAILED, failed.getState());
+        assertEquals("gone", failed.getError());
+        assertNotNull(failed.getFinishedAt());
+        assertEquals(ImportJobState.QUEUED, jobRepository.findById(alive.getJobId()).orElseThrow().getState());
+
+        jobRepository.purge(Instant.now().plusSeconds(1));
+
+        assertTrue(jobRepository.findById(abandoned.getJobId()).isEmpty());
+        assertTrue(jobRepository.findById(alive.getJobId()).isPresent());
+    }
+
+    private static ImportJobStatus queued() {
+        return ImportJobStatus.builder()
+                .jobId(UUID.randomUUID().toString())
+                .state(ImportJobState.QUEUED)
+                .fileName("students.csv")
+                .mode(ImportMode.UPSERT)
+                .submittedAt(Instant.now().truncatedTo(ChronoUnit.MILLIS))
+                .build();
+    }
+}
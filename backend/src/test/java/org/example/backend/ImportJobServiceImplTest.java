@@ -0,0 +1,135 @@
+package org.example.backend;
+
+import org.example.backend.dto.ImportJobStatus;
+import org.example.backend.dto.ImportReport;
+import org.example.backend.enums.ImportJobState;
+import org.example.backend.enums.ImportMode;
+import org.example.backend.exception.ResourceNotFoundException;
+import org.example.backend.repository.ImportJobRepository;
+import org.example.backend.service.ImportJobServiceImpl;
+import org.example.backend.service.ImportProgressListener;
+import org.example.backend.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceImplTest {
+
+    @Mock
+    private StudentService studentService;
+
+    @Mock
+    private ImportJobRepository jobRepository;
+
+    private ImportJobServiceImpl importJobService;
+
+    @AfterEach
+    void tearDown() {
+        importJobService.destroy();
+    }
+
+    @Test
+    void submit_shouldRunImportInBackgroundAndReportCompletion() throws Exception {
+        importJobService = service(Duration.ofHours(1));
+        ImportReport report = ImportReport.builder().totalRows(2).inserted(2).errors(List.of()).build();
+        when(studentService.importStudents(any(InputStream.class), eq(ImportMode.UPSERT), any(ImportProgressListener.class))).thenAnswer(invocation -> {
+            String body = new String(invocation.getArgument(0, InputStream.class).readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals("ID,Username,Level\n", body);
+            invocation.getArgument(2, ImportProgressListener.class).onProgress(2, 2, 0);
+            return report;
+        });
+
+        ImportJobStatus submitted = importJobService.submit(csv(), ImportMode.UPSERT);
+        ImportJobStatus finished = awaitFinished(submitted.getJobId());
+
+        assertEquals(ImportJobState.COMPLETED, finished.getState());
+        assertEquals(ImportMode.UPSERT, finished.getMode());
+        assertEquals(2, finished.getRowsProcessed());
+        assertEquals(report, finished.getReport());
+        assertNotNull(finished.getFinishedAt());
+        verify(jobRepository).insert(argThat(status -> status.getState() == ImportJobState.QUEUED));
+        verify(jobRepository).update(argThat(status -> status.getState() == ImportJobState.COMPLETED
+                && report.equals(status.getReport())));
+    }
+
+    @Test
+    void submit_shouldRecordFailure() throws Exception {
+        importJobService = service(Duration.ofHours(1));
+        when(studentService.importStudents(any(InputStream.class), any(ImportMode.class), any(ImportProgressListener.class)))
+                .thenThrow(new RuntimeException("boom"));
+
+        ImportJobStatus finished = awaitFinished(importJobService.submit(csv(), ImportMode.INSERT).getJobId());
+
+        assertEquals(ImportJobState.FAILED, finished.getState());
+        assertEquals("boom", finished.getError());
+    }
+
+    @Test
+    void getStatus_shouldReadJobsOfOtherNodesFromTheTable() {
+        importJobService = service(Duration.ofHours(1));
+        ImportJobStatus stored = ImportJobStatus.builder().jobId("elsewhere").state(ImportJobState.RUNNING).rowsProcessed(5000).build();
+        when(jobRepository.findById("elsewhere")).thenReturn(Optional.of(stored));
+
+        assertEquals(stored, importJobService.getStatus("elsewhere"));
+    }
+
+    @Test
+    void maintain_shouldPruneFinishedJobsAndFailAbandonedOnes() throws Exception {
+        importJobService = service(Duration.ZERO);
+        when(studentService.importStudents(any(InputStream.class), any(ImportMode.class), any(ImportProgressListener.class)))
+                .thenReturn(ImportReport.builder().errors(List.of()).build());
+        String jobId = awaitFinished(importJobService.submit(csv(), ImportMode.INSERT).getJobId()).getJobId();
+        Thread.sleep(5);
+
+        importJobService.maintain();
+
+        verify(jobRepository).failAbandoned(any(), any());
+        verify(jobRepository).purge(any());
+        assertThrows(ResourceNotFoundException.class, () -> importJobService.getStatus(jobId));
+    }
+
+    @Test
+    void getStatus_shouldThrowResourceNotFoundException_whenJobUnknown() {
+        importJobService = service(Duration.ofHours(1));
+
+        assertThrows(ResourceNotFoundException.class, () -> importJobService.getStatus("missing"));
+    }
+
+    private ImportJobServiceImpl service(Duration retention) {
+        return new ImportJobServiceImpl(studentService, jobRepository, new MockEnvironment(), 1, 1, retention, Duration.ofMinutes(10));
+    }
+
+    private static MockMultipartFile csv() {
+        return new MockMultipartFile("file", "students.csv", "text/csv",
+                "ID,Username,Level\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ImportJobStatus awaitFinished(String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ImportJobStatus status = importJobService.getStatus(jobId);
+            if (status.getState() == ImportJobState.COMPLETED || status.getState() == ImportJobState.FAILED) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Import job did not finish");
+    }
+}
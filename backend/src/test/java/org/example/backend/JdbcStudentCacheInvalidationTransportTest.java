@@ -0,0 +1,63 @@
+package org.example.backend;
+
+import org.example.backend.entity.StudentCacheInvalidationRecord;
+import org.example.backend.repository.StudentCacheInvalidationRepository;
+import org.example.backend.service.JdbcStudentCacheInvalidationTransport;
+import org.example.backend.service.StudentCacheInvalidationTransport.Invalidation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcStudentCacheInvalidationTransportTest {
+
+    @Mock
+    private StudentCacheInvalidationRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcStudentCacheInvalidationTransport transport;
+    private final List<Invalidation> received = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transport = new JdbcStudentCacheInvalidationTransport(repository, transactionManager,
+                Duration.ofMinutes(10), Duration.ofMinutes(1));
+        transport.subscribe("node-b", received::add);
+        when(repository.findMaxId()).thenReturn(0L);
+        transport.poll();
+    }
+
+    @Test
+    void poll_shouldDeliverInvalidationsThatCommitAfterAHigherId() {
+        // Id 2 was assigned before id 3 but commits after the first poll has read id 3
+        when(repository.findByIdGreaterThanOrderById(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(record(1, 10), record(3, 30)));
+        transport.poll();
+        when(repository.findAllById(Set.of(2L))).thenReturn(List.of(record(2, 20)));
+        when(repository.findByIdGreaterThanOrderById(eq(3L), any(Limit.class))).thenReturn(List.of());
+        transport.poll();
+
+        assertEquals(List.of(List.of(10L, 30L), List.of(20L)), received.stream().map(Invalidation::studentIds).toList());
+    }
+
+    private static StudentCacheInvalidationRecord record(long id, long studentId) {
+        return new StudentCacheInvalidationRecord(id, "node-a", studentId, Instant.now());
+    }
+}
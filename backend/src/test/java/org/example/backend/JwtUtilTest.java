@@ -0,0 +1,60 @@
+package org.example.backend;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import org.example.backend.config.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 100);
+    private final UserDetails admin = new User("admin", "password", Collections.emptyList());
+
+    @Test
+    void verify_shouldReturnClaimsOfGeneratedToken() {
+        String token = jwtUtil.generateToken(admin);
+
+        assertEquals("admin", jwtUtil.verify(token).getSubject());
+        assertSame(jwtUtil.verify(token), jwtUtil.verify(token));
+        assertTrue(jwtUtil.validateToken(token, admin));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void verify_shouldAcceptTokensSignedWithTheRawSecret() {
+        String token = Jwts.builder().setSubject("admin")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS256, SECRET).compact();
+
+        assertEquals("admin", jwtUtil.extractUsername(token));
+    }
+
+    @Test
+    void verify_shouldRejectTamperedToken() {
+        String token = jwtUtil.generateToken(admin);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(SignatureException.class, () -> jwtUtil.verify(tampered));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void verify_shouldRejectExpiredToken() {
+        String token = Jwts.builder().setSubject("admin")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(SignatureAlgorithm.HS256, SECRET).compact();
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(token));
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.config.RateLimitFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(new ObjectMapper(), true,
+            3, Duration.ofMinutes(1), 2, Duration.ofMinutes(1), 1, Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRejectWith429AndRetryAfterOnceBucketIsEmpty() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, send(get("/api/students/1", "10.0.0.1")).getStatus());
+        }
+
+        MockHttpServletResponse rejected = send(get("/api/students/1", "10.0.0.1"));
+
+        assertEquals(429, rejected.getStatus());
+        assertTrue(Long.parseLong(rejected.getHeader("Retry-After")) >= 1);
+        assertTrue(rejected.getContentAsString().contains("\"statusCode\":429"));
+    }
+
+    @Test
+    void shouldKeepSeparateBudgetsPerTierAndClient() throws Exception {
+        MockHttpServletRequest export = get("/api/students/export", "10.0.0.1");
+        assertEquals(200, send(export).getStatus());
+        assertEquals(429, send(get("/api/students/export", "10.0.0.1")).getStatus());
+        assertEquals(429, send(get("/api/students/stream", "10.0.0.1")).getStatus());
+
+        // Same client still has its read and search budgets, another client its own bulk budget
+        assertEquals(200, send(get("/api/students", "10.0.0.1")).getStatus());
+        MockHttpServletRequest search = get("/api/students", "10.0.0.1");
+        search.setParameter("searchTerm", "ali");
+        assertEquals(200, send(search).getStatus());
+        assertEquals(200, send(get("/api/students/export", "10.0.0.2")).getStatus());
+    }
+
+    @Test
+    void shouldKeyAuthenticatedRequestsBySubjectRegardlessOfAddress() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", null, Collections.emptyList()));
+
+        assertEquals(200, send(get("/api/students/export", "10.0.0.1")).getStatus());
+        assertEquals(429, send(get("/api/students/export", "10.0.0.2")).getStatus());
+    }
+
+    @Test
+    void shouldNotLimitRequestsOutsideTheApi() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, send(get("/actuator/health", "10.0.0.1")).getStatus());
+        }
+    }
+
+    private static MockHttpServletRequest get(String uri, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Anonymous clients behind a load balancer all connect from the balancer's address; their buckets must
+ * follow {@code X-Forwarded-For} instead. The test client connects from loopback, a trusted proxy.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "app.rate-limit.read.capacity=1")
+@ActiveProfiles("test")
+class RateLimitForwardedForTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void anonymousClientsBehindAProxyShouldGetTheirOwnBuckets() {
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, get("203.0.113.1"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, get("203.0.113.1"));
+
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, get("203.0.113.2"));
+        // Only the last hop appended by the trusted proxy counts, not what the client claims before it
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, get("198.51.100.7, 203.0.113.2"));
+    }
+
+    private HttpStatusCode get(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", forwardedFor);
+        return restTemplate.exchange("/api/students", HttpMethod.GET, new HttpEntity<>(headers), String.class).getStatusCode();
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.backend;
+
+import org.example.backend.config.ReplicaLagGuard;
+import org.example.backend.dto.StudentCreateUpdateDto;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.enums.Level;
+import org.example.backend.repository.StudentRepository;
+import org.example.backend.service.StudentService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Two independent in-memory databases stand in for the primary and a replica that never catches up,
+ * so every read shows which of them served it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.max-lag=PT1M"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    static {
+        // A real replica gets its schema from the primary; this one needs it before the context starts reading
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration/h2").load().migrate();
+    }
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @BeforeEach
+    void setUp() {
+        // The test framework binds a mock request; start outside any client and pick one explicitly
+        RequestContextHolder.resetRequestAttributes();
+        studentRepository.deleteAll();
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.update("DELETE FROM students");
+        replica.update("INSERT INTO students (username, level, version) VALUES ('replica-only', 'FIRST_GRADE', 0)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readsShouldUseReplicaAndWritesPrimary() {
+        StudentDto written = create("written");
+
+        assertEquals(List.of("replica-only"), listUsernames());
+        assertEquals(List.of("written"),
+                new JdbcTemplate(primaryDataSource).queryForList("SELECT username FROM students", String.class));
+        // Cache misses are read from the primary
+        assertEquals("written", studentService.getStudentById(written.getId()).getUsername());
+    }
+
+    @Test
+    void clientShouldReadItsOwnWriteFromPrimary() {
+        actAs("10.0.0.1");
+        create("written");
+        assertEquals(List.of("written"), listUsernames());
+
+        actAs("10.0.0.2");
+        assertEquals(List.of("replica-only"), listUsernames());
+    }
+
+    @Test
+    void clientShouldCarryItsPinToOtherNodes() {
+        MockHttpServletResponse response = actAs("10.0.0.1");
+        create("written");
+        String until = response.getHeader(ReplicaLagGuard.PIN_HEADER);
+        assertNotNull(until);
+
+        // A client this node never saw write, presenting the pin another node gave it
+        actAs("10.0.0.3", until);
+        assertEquals(List.of("written"), listUsernames());
+
+        // Pins further ahead than the lag allows are ignored
+        actAs("10.0.0.3", Long.toString(System.currentTimeMillis() + 3_600_000));
+        assertEquals(List.of("replica-only"), listUsernames());
+    }
+
+    private StudentDto create(String username) {
+        StudentCreateUpdateDto dto = new StudentCreateUpdateDto();
+        dto.setUsername(username);
+        dto.setLevel(Level.FIRST_GRADE);
+        return studentService.createStudent(dto);
+    }
+
+    private List<String> listUsernames() {
+        return studentService.getAllStudents(null, null, Pageable.unpaged()).getContent().stream()
+                .map(StudentDto::getUsername)
+                .toList();
+    }
+
+    private static MockHttpServletResponse actAs(String remoteAddress) {
+        return actAs(remoteAddress, null);
+    }
+
+    private static MockHttpServletResponse actAs(String remoteAddress, String pin) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        if (pin != null) {
+            request.addHeader(ReplicaLagGuard.PIN_HEADER, pin);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+}
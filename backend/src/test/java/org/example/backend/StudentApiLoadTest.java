@@ -0,0 +1,340 @@
+package org.example.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.entity.Student;
+import org.example.backend.enums.Level;
+import org.example.backend.repository.StudentBatchRepository;
+import org.example.backend.repository.StudentRepository;
+import org.example.backend.service.StudentSearchIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test: boots the application on a random port against the in-memory H2 database in
+ * MySQL mode, seeds a roster and drives a weighted mix of API calls from concurrent clients. Prints
+ * throughput and p50/p95/p99 latency per endpoint and writes them to
+ * {@code target/load-test-report-<platform|virtual>.json}.
+ * <p>
+ * Excluded from the normal build; run with {@code ./mvnw -Pload-test test}. Tunable with
+ * {@code -Dload.students}, {@code -Dload.clients}, {@code -Dload.warmup} and {@code -Dload.duration}. On a
+ * Java 21 runtime, add {@code -Dspring.threads.virtual.enabled=true} to measure the virtual-thread mode
+ * under the same load.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "load-test"})
+class StudentApiLoadTest {
+
+    private static final int STUDENTS = Integer.getInteger("load.students", 10_000);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 16);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final int IMPORT_ROWS = 50;
+
+    /** Request mix; weights add up to 100. */
+    enum Endpoint {
+        LOGIN(2), LIST(30), SEARCH(20), GET_BY_ID(25), CREATE(5), UPDATE(16), EXPORT(1), IMPORT(1);
+
+        final int weight;
+
+        Endpoint(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentBatchRepository studentBatchRepository;
+
+    @Autowired
+    private StudentSearchIndex searchIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private List<Long> studentIds;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        // Spring Boot ignores the flag below Java 21; measuring platform threads instead would be misleading
+        assertTrue(Threading.VIRTUAL.isActive(environment) || !environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false),
+                "spring.threads.virtual.enabled needs a Java 21 runtime, this is Java " + Runtime.version().feature());
+        seed();
+        String token = login();
+
+        long start = System.nanoTime();
+        long measureFrom = start + WARMUP.toNanos();
+        long end = measureFrom + DURATION.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<Stats>> results = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            Client client = new Client(i, token, measureFrom, end);
+            results.add(clients.submit(client::run));
+        }
+        Stats total = new Stats();
+        for (Future<Stats> result : results) {
+            total.merge(result.get());
+        }
+        clients.shutdown();
+
+        List<Map<String, Object>> report = report(total);
+        long requests = report.stream().mapToLong(row -> (long) row.get("requests")).sum();
+        long errors = report.stream().mapToLong(row -> (long) row.get("errors")).sum();
+        assertTrue(requests > 0, "No requests completed in the measurement window");
+        assertTrue(errors <= requests / 100, errors + " of " + requests + " requests failed");
+    }
+
+    private void seed() {
+        studentRepository.deleteAll();
+        Level[] levels = Level.values();
+        studentIds = new ArrayList<>(STUDENTS);
+        List<Student> chunk = new ArrayList<>(1000);
+        for (int i = 1; i <= STUDENTS; i++) {
+            chunk.add(Student.builder().username("loadstudent" + i).level(levels[i % levels.length]).build());
+            if (chunk.size() == 1000 || i == STUDENTS) {
+                studentBatchRepository.insertAll(chunk);
+                chunk.forEach(student -> studentIds.add(student.getId()));
+                chunk = new ArrayList<>(1000);
+            }
+        }
+        searchIndex.rebuild();
+    }
+
+    private String login() throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(json("/api/admin/login", "POST",
+                "{\"username\":\"admin\",\"password\":\"password\"}", null), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body()).get("jwt").asText();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest json(String path, String method, String body, String token) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private List<Map<String, Object>> report(Stats total) throws IOException {
+        double seconds = DURATION.toNanos() / 1e9;
+        List<Map<String, Object>> rows = new ArrayList<>();
+        String threads = Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform";
+        System.out.printf("%nLoad test: %d students, %d clients, %ss measured, %s threads%n",
+                STUDENTS, CLIENTS, DURATION.toSeconds(), threads);
+        System.out.printf("%-10s %9s %9s %9s %9s %9s %9s %7s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors", "shed");
+        for (Endpoint endpoint : Endpoint.values()) {
+            long[] latencies = total.latencies(endpoint);
+            Arrays.sort(latencies);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint.name());
+            row.put("requests", (long) latencies.length);
+            row.put("throughput", latencies.length / seconds);
+            row.put("p50Millis", percentile(latencies, 0.50));
+            row.put("p95Millis", percentile(latencies, 0.95));
+            row.put("p99Millis", percentile(latencies, 0.99));
+            row.put("maxMillis", percentile(latencies, 1.0));
+            row.put("errors", total.errors.getOrDefault(endpoint, 0L));
+            row.put("shed", total.shed.getOrDefault(endpoint, 0L));
+            rows.add(row);
+            System.out.printf("%-10s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %7d%n", endpoint, latencies.length,
+                    row.get("throughput"), row.get("p50Millis"), row.get("p95Millis"), row.get("p99Millis"),
+                    row.get("maxMillis"), row.get("errors"), row.get("shed"));
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("students", STUDENTS);
+        document.put("clients", CLIENTS);
+        document.put("durationSeconds", DURATION.toSeconds());
+        document.put("threads", threads);
+        document.put("endpoints", rows);
+        Path target = Path.of("target", "load-test-report-" + threads + ".json");
+        Files.createDirectories(target.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(target.toFile(), document);
+        return rows;
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    /** One simulated client: picks endpoints by weight and records latencies inside the window. */
+    private final class Client {
+        private final int number;
+        private final String token;
+        private final long measureFrom;
+        private final long end;
+        private final SplittableRandom random;
+        private final Stats stats = new Stats();
+        private int sequence;
+
+        Client(int number, String token, long measureFrom, long end) {
+            this.number = number;
+            this.token = token;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            this.random = new SplittableRandom(number);
+        }
+
+        Stats run() {
+            while (System.nanoTime() < end) {
+                Endpoint endpoint = pick();
+                long start = System.nanoTime();
+                int status;
+                try {
+                    status = call(endpoint);
+                } catch (IOException e) {
+                    status = -1;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (start >= measureFrom) {
+                    stats.record(endpoint, System.nanoTime() - start, status);
+                }
+            }
+            return stats;
+        }
+
+        private Endpoint pick() {
+            int roll = random.nextInt(100);
+            for (Endpoint endpoint : Endpoint.values()) {
+                roll -= endpoint.weight;
+                if (roll < 0) {
+                    return endpoint;
+                }
+            }
+            return Endpoint.LIST;
+        }
+
+        private int call(Endpoint endpoint) throws IOException, InterruptedException {
+            long id = studentIds.get(random.nextInt(studentIds.size()));
+            String suffix = number + "-" + (++sequence);
+            HttpRequest request = switch (endpoint) {
+                case LOGIN -> json("/api/admin/login", "POST",
+                        "{\"username\":\"admin\",\"password\":\"password\"}", null);
+                case LIST -> request("/api/students?page=" + random.nextInt(50) + "&size=20", token).GET().build();
+                case SEARCH -> request("/api/students?searchTerm=loadstudent" + random.nextInt(1000)
+                        + "&page=0&size=20", token).GET().build();
+                case GET_BY_ID -> request("/api/students/" + id, token).GET().build();
+                case CREATE -> json("/api/students", "POST",
+                        "{\"username\":\"created-" + suffix + "\",\"level\":\"FIRST_GRADE\"}", token);
+                case UPDATE -> json("/api/students/" + id, "PUT", "{\"username\":\"loadstudent" + id
+                        + "\",\"level\":\"" + Level.values()[random.nextInt(Level.values().length)] + "\"}", token);
+                case EXPORT -> request("/api/students/export", token).GET().build();
+                case IMPORT -> importRequest(suffix);
+            };
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+
+        private HttpRequest importRequest(String suffix) {
+            String boundary = "load-test-" + suffix;
+            StringBuilder body = new StringBuilder()
+                    .append("--").append(boundary).append("\r\n")
+                    .append("Content-Disposition: form-data; name=\"file\"; filename=\"students.csv\"\r\n")
+                    .append("Content-Type: text/csv\r\n\r\n")
+                    .append("ID,Username,Level\n");
+            for (int i = 0; i < IMPORT_ROWS; i++) {
+                body.append(",imported-").append(suffix).append('-').append(i).append(",SECOND_GRADE\n");
+            }
+            body.append("\r\n--").append(boundary).append("--\r\n");
+            return request("/api/students/import", token)
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8))
+                    .build();
+        }
+    }
+
+    /** Latencies in nanoseconds plus error counts per endpoint, owned by one thread until merged. */
+    private static final class Stats {
+        private final Map<Endpoint, long[]> samples = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, Integer> counts = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, Long> errors = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, Long> shed = new EnumMap<>(Endpoint.class);
+
+        void record(Endpoint endpoint, long nanos, int status) {
+            if (status == 429 || status == 503) {
+                // Load shedding (rate limit or full import queue) is a deliberate answer, not a failure
+                shed.merge(endpoint, 1L, Long::sum);
+            } else if (status < 200 || status >= 300) {
+                errors.merge(endpoint, 1L, Long::sum);
+            }
+            int count = counts.getOrDefault(endpoint, 0);
+            long[] buffer = samples.computeIfAbsent(endpoint, e -> new long[1024]);
+            if (count == buffer.length) {
+                buffer = Arrays.copyOf(buffer, count * 2);
+                samples.put(endpoint, buffer);
+            }
+            buffer[count] = nanos;
+            counts.put(endpoint, count + 1);
+        }
+
+        long[] latencies(Endpoint endpoint) {
+            long[] buffer = samples.get(endpoint);
+            return buffer == null ? new long[0] : Arrays.copyOf(buffer, counts.get(endpoint));
+        }
+
+        void merge(Stats other) {
+            for (Endpoint endpoint : Endpoint.values()) {
+                long[] theirs = other.latencies(endpoint);
+                for (long nanos : theirs) {
+                    record(endpoint, nanos, 200);
+                }
+            }
+            other.errors.forEach((endpoint, n) -> errors.merge(endpoint, n, Long::sum));
+            other.shed.forEach((endpoint, n) -> shed.merge(endpoint, n, Long::sum));
+        }
+    }
+}
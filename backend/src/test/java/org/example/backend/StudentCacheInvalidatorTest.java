@@ -0,0 +1,137 @@
+package org.example.backend;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.config.CacheConfig;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.enums.Level;
+import org.example.backend.event.StudentChangeEvent;
+import org.example.backend.service.InProcessStudentCacheInvalidationTransport;
+import org.example.backend.service.StudentCacheInvalidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two "nodes", each with its own cache, sharing one in-process transport.
+ */
+class StudentCacheInvalidatorTest {
+
+    private Cache nodeA;
+    private Cache nodeB;
+    private StudentCacheInvalidator invalidatorA;
+    private SimpleMeterRegistry registryB;
+
+    @BeforeEach
+    void setUp() {
+        InProcessStudentCacheInvalidationTransport transport = new InProcessStudentCacheInvalidationTransport();
+        CaffeineCacheManager managerA = cacheManager();
+        CaffeineCacheManager managerB = cacheManager();
+        registryB = new SimpleMeterRegistry();
+        invalidatorA = new StudentCacheInvalidator(managerA, transport, new SimpleMeterRegistry());
+        new StudentCacheInvalidator(managerB, transport, registryB);
+        nodeA = managerA.getCache(CacheConfig.STUDENTS);
+        nodeB = managerB.getCache(CacheConfig.STUDENTS);
+    }
+
+    @Test
+    void onStudentChange_shouldEvictLocallyAndOnOtherNodes() {
+        StudentDto before = student(1L, "student");
+        StudentDto after = student(1L, "renamed");
+        nodeA.put(1L, before);
+        nodeB.put(1L, before);
+        nodeB.put(2L, student(2L, "other"));
+
+        invalidatorA.onStudentChange(StudentChangeEvent.updated(before, after));
+
+        assertNull(nodeA.get(1L));
+        assertNull(nodeB.get(1L));
+        assertNotNull(nodeB.get(2L));
+        assertEquals(1.0, registryB.get("students.cache.invalidations").tag("direction", "received").counter().count());
+    }
+
+    @Test
+    void onStudentChange_shouldClearOtherNodesForLargeChanges() {
+        nodeB.put(1_000_000L, student(1_000_000L, "unrelated"));
+        List<StudentDto> imported = new ArrayList<>();
+        LongStream.rangeClosed(1, 501).forEach(id -> imported.add(student(id, "s" + id)));
+
+        invalidatorA.onStudentChange(StudentChangeEvent.imported(imported));
+
+        assertNull(nodeB.get(1_000_000L));
+    }
+
+    @Test
+    void get_shouldNotCacheAReadThatRacedAnUpdate() throws Exception {
+        StudentDto before = student(1L, "student", 0L);
+        StudentDto after = student(1L, "renamed", 1L);
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            // The miss reads version 0, then the update commits and evicts before the miss can cache it
+            Future<StudentDto> miss = reader.submit(() -> invalidatorA.get(1L, () -> {
+                read.countDown();
+                await(committed);
+                return before;
+            }));
+            assertTrue(read.await(5, TimeUnit.SECONDS));
+            invalidatorA.onStudentChange(StudentChangeEvent.updated(before, after));
+            committed.countDown();
+
+            assertEquals(before, miss.get(5, TimeUnit.SECONDS));
+        } finally {
+            reader.shutdownNow();
+        }
+        assertNull(nodeA.get(1L));
+        assertEquals(after, invalidatorA.get(1L, () -> after));
+        assertEquals(after, nodeA.get(1L).get());
+    }
+
+    @Test
+    void get_shouldKeepANewerVersionCachedByAnotherMiss() {
+        StudentDto newer = student(1L, "renamed", 1L);
+
+        invalidatorA.get(1L, () -> {
+            nodeA.put(1L, newer);
+            return student(1L, "student", 0L);
+        });
+
+        assertEquals(newer, nodeA.get(1L).get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static StudentDto student(long id, String username) {
+        return StudentDto.builder().id(id).username(username).level(Level.FIRST_GRADE).build();
+    }
+
+    private static StudentDto student(long id, String username, long version) {
+        return StudentDto.builder().id(id).username(username).level(Level.FIRST_GRADE).version(version).build();
+    }
+
+    private static CaffeineCacheManager cacheManager() {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.registerCustomCache(CacheConfig.STUDENTS, Caffeine.newBuilder().build());
+        return manager;
+    }
+}
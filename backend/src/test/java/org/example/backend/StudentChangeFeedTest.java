@@ -0,0 +1,195 @@
+package org.example.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.controller.StudentController;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.enums.Level;
+import org.example.backend.event.LoggedStudentChange;
+import org.example.backend.event.StudentChangeEvent;
+import org.example.backend.event.StudentChangeLogEvent;
+import org.example.backend.repository.StudentChangeLogRepository;
+import org.example.backend.service.StudentChangeFeed;
+import org.example.backend.service.StudentChangeLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class StudentChangeFeedTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\S+)$", Pattern.MULTILINE);
+
+    private final StudentChangeLogRepository changeLogRepository = mock(StudentChangeLogRepository.class);
+    private final StudentChangeLog changeLog = mock(StudentChangeLog.class);
+    private StudentChangeFeed feed;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        when(changeLog.highWaterMark()).thenReturn(0L);
+        feed = new StudentChangeFeed(new ObjectMapper(), new SimpleMeterRegistry(), changeLogRepository, changeLog,
+                2, Duration.ofMinutes(1), 2, 10, 2);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StudentController(null, null, null, feed, null)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.destroy();
+    }
+
+    @Test
+    void subscriberShouldReceiveCommittedChanges() throws Exception {
+        MockHttpServletResponse response = subscribe(null);
+
+        publish(change(1, StudentChangeEvent.Type.CREATED, student(1L, "alice")));
+
+        String body = awaitEvents(response, 1);
+        assertTrue(body.contains("event:created"));
+        assertTrue(body.contains("\"username\":\"alice\""));
+        assertEquals(List.of("1"), eventIds(body));
+        assertTrue(response.getContentType().startsWith("text/event-stream"));
+    }
+
+    @Test
+    void reconnectShouldReplayOnlyMissedChangesFromTheLog() throws Exception {
+        LoggedStudentChange updated = change(2, StudentChangeEvent.Type.UPDATED, student(1L, "alicia"));
+        LoggedStudentChange deleted = change(3, StudentChangeEvent.Type.DELETED, student(1L, "alicia"));
+        publish(change(1, StudentChangeEvent.Type.CREATED, student(1L, "alice")));
+        publish(updated, deleted);
+        // The last id the client saw may come from any node, the log is the same
+        when(changeLogRepository.findBetween(1, 3, 3)).thenReturn(List.of(updated, deleted));
+
+        String body = awaitEvents(subscribe("1"), 2);
+
+        assertFalse(body.contains("event:created"));
+        assertTrue(body.indexOf("event:updated") < body.indexOf("event:deleted"));
+        assertEquals(List.of("2", "3"), eventIds(body));
+    }
+
+    @Test
+    void runsOfOneKindShouldBecomeOneEvent() throws Exception {
+        MockHttpServletResponse response = subscribe(null);
+
+        publish(change(1, StudentChangeEvent.Type.CREATED, student(1L, "alice")),
+                change(2, StudentChangeEvent.Type.CREATED, student(2L, "bob")),
+                change(3, StudentChangeEvent.Type.DELETED, student(1L, "alice")));
+
+        String body = awaitEvents(response, 2);
+        assertEquals(List.of("2", "3"), eventIds(body));
+        assertTrue(body.contains("\"count\":2"));
+    }
+
+    @Test
+    void reconnectShouldResetWhenTheMissedChangesCannotBeReplayed() throws Exception {
+        for (long seq = 1; seq <= 4; seq++) {
+            publish(change(seq, StudentChangeEvent.Type.CREATED, student(seq, "student" + seq)));
+        }
+        when(changeLogRepository.maxSequence()).thenReturn(4L);
+        when(changeLogRepository.purgedSequence()).thenReturn(1L);
+        // Buffer replays two changes, so three missed ones are too many
+        when(changeLogRepository.findBetween(1, 4, 3)).thenReturn(List.of(
+                change(2, StudentChangeEvent.Type.CREATED, student(2L, "student2")),
+                change(3, StudentChangeEvent.Type.CREATED, student(3L, "student3")),
+                change(4, StudentChangeEvent.Type.CREATED, student(4L, "student4"))));
+
+        assertTrue(awaitBody(subscribe("1"), "event:reset").contains("event:reset"));
+        // Purged, unknown to this database, and not an id of this feed
+        assertTrue(awaitBody(subscribe("0"), "event:reset").contains("event:reset"));
+        assertTrue(awaitBody(subscribe("9"), "event:reset").contains("event:reset"));
+        assertTrue(awaitBody(subscribe("1760791234567-42"), "event:reset").contains("event:reset"));
+    }
+
+    @Test
+    void clientAheadOfThisNodeShouldOnlyGetChangesItHasNotSeen() throws Exception {
+        when(changeLogRepository.maxSequence()).thenReturn(2L);
+        MockHttpServletResponse response = subscribe("2");
+
+        publish(change(1, StudentChangeEvent.Type.CREATED, student(1L, "alice")),
+                change(2, StudentChangeEvent.Type.CREATED, student(2L, "bob")),
+                change(3, StudentChangeEvent.Type.CREATED, student(3L, "carol")));
+
+        String body = awaitEvents(response, 1);
+        assertEquals(List.of("3"), eventIds(body));
+        assertTrue(body.contains("\"count\":1"));
+        assertFalse(body.contains("bob"));
+    }
+
+    @Test
+    void largeChangesShouldCarryOnlyTheCount() throws Exception {
+        MockHttpServletResponse response = subscribe(null);
+
+        publish(change(1, StudentChangeEvent.Type.DELETED, student(1L, "alice")),
+                change(2, StudentChangeEvent.Type.DELETED, student(2L, "bob")),
+                change(3, StudentChangeEvent.Type.DELETED, student(3L, "carol")));
+
+        String body = awaitEvents(response, 1);
+        assertTrue(body.contains("\"count\":3"));
+        assertTrue(body.contains("\"students\":null"));
+        assertFalse(body.contains("alice"));
+    }
+
+    private void publish(LoggedStudentChange... changes) {
+        feed.onChangeLog(new StudentChangeLogEvent(List.of(changes), changes[changes.length - 1].seq()));
+    }
+
+    private MockHttpServletResponse subscribe(String lastEventId) throws Exception {
+        var request = get("/api/students/changes");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        int subscribers = feed.subscriberCount();
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertTrue(result.getRequest().isAsyncStarted());
+        assertEquals(subscribers + 1, feed.subscriberCount());
+        return result.getResponse();
+    }
+
+    private String awaitEvents(MockHttpServletResponse response, int count) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            String body = response.getContentAsString();
+            if (eventIds(body).size() >= count) {
+                return body;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Expected " + count + " events but got: " + response.getContentAsString());
+    }
+
+    private String awaitBody(MockHttpServletResponse response, String expected) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            String body = response.getContentAsString();
+            if (body.contains(expected)) {
+                return body;
+            }
+            Thread.sleep(20);
+        }
+        return response.getContentAsString();
+    }
+
+    private static List<String> eventIds(String body) {
+        Matcher matcher = EVENT_ID.matcher(body);
+        return matcher.results().map(result -> result.group(1)).toList();
+    }
+
+    private static LoggedStudentChange change(long seq, StudentChangeEvent.Type type, StudentDto student) {
+        return new LoggedStudentChange(seq, type, student, null);
+    }
+
+    private static StudentDto student(Long id, String username) {
+        return new StudentDto(id, username, Level.FIRST_GRADE, 0L);
+    }
+}
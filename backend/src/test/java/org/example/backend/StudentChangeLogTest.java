@@ -0,0 +1,91 @@
+package org.example.backend;
+
+import jakarta.persistence.EntityManager;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.enums.Level;
+import org.example.backend.event.LoggedStudentChange;
+import org.example.backend.event.StudentChangeEvent;
+import org.example.backend.event.StudentChangeLogEvent;
+import org.example.backend.repository.StudentChangeLogRepository;
+import org.example.backend.service.StudentChangeLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StudentChangeLogTest {
+
+    @Mock
+    private StudentChangeLogRepository repository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final List<StudentChangeLogEvent> delivered = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(repository.maxSequence()).thenReturn(0L);
+        when(repository.findSequencesAfter(eq(0L), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    void poll_shouldHoldTheHighWaterMarkBelowAChangeThatIsStillCommitting() {
+        StudentChangeLog changeLog = changeLog(Duration.ofMinutes(1));
+        changeLog.poll();
+
+        // Sequence value 2 was assigned before 3 but its transaction commits after the poll has read 3
+        when(repository.findSequencesAfter(eq(0L), anyInt())).thenReturn(List.of(1L, 3L));
+        when(repository.findBetween(0L, 1L, 1000)).thenReturn(List.of(change(1)));
+        changeLog.poll();
+        assertEquals(1, changeLog.highWaterMark());
+
+        when(repository.findExistingSequences(Set.of(2L))).thenReturn(List.of(2L));
+        when(repository.findSequencesAfter(eq(3L), anyInt())).thenReturn(List.of());
+        when(repository.findBetween(1L, 3L, 1000)).thenReturn(List.of(change(2), change(3)));
+        changeLog.poll();
+
+        assertEquals(3, changeLog.highWaterMark());
+        assertEquals(List.of(List.of(1L), List.of(2L, 3L)), delivered.stream()
+                .map(event -> event.getChanges().stream().map(LoggedStudentChange::seq).toList())
+                .toList());
+    }
+
+    @Test
+    void poll_shouldGiveUpOnAGapAfterTheTimeout() {
+        StudentChangeLog changeLog = changeLog(Duration.ZERO);
+        changeLog.poll();
+
+        // Sequence value 1 was rolled back
+        when(repository.findSequencesAfter(eq(0L), anyInt())).thenReturn(List.of(2L));
+        when(repository.findExistingSequences(Set.of(1L))).thenReturn(List.of());
+        when(repository.findBetween(anyLong(), eq(2L), eq(1000))).thenReturn(List.of(change(2)));
+        changeLog.poll();
+
+        assertEquals(2, changeLog.highWaterMark());
+        assertEquals(1, delivered.size());
+    }
+
+    private StudentChangeLog changeLog(Duration gapTimeout) {
+        return new StudentChangeLog(repository, event -> delivered.add((StudentChangeLogEvent) event), entityManager,
+                gapTimeout, Duration.ofDays(30));
+    }
+
+    private static LoggedStudentChange change(long seq) {
+        StudentDto student = StudentDto.builder().id(seq).username("s" + seq).level(Level.FIRST_GRADE).version(0L).build();
+        return new LoggedStudentChange(seq, StudentChangeEvent.Type.CREATED, student, null);
+    }
+}
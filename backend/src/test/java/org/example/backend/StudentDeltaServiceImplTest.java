@@ -0,0 +1,201 @@
+package org.example.backend;
+
+import org.example.backend.dto.StudentBulkRequest;
+import org.example.backend.dto.StudentCreateUpdateDto;
+import org.example.backend.dto.StudentDelta;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.enums.Level;
+import org.example.backend.exception.GoneException;
+import org.example.backend.repository.StudentChangeLogRepository;
+import org.example.backend.repository.StudentRepository;
+import org.example.backend.service.ImportProgressListener;
+import org.example.backend.service.StudentChangeLog;
+import org.example.backend.service.StudentDeltaService;
+import org.example.backend.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentDeltaServiceImplTest {
+
+    @Autowired
+    private StudentDeltaService studentDeltaService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private StudentChangeLog changeLog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Read the log first: rows deleted before this node has seen them would look like rolled back writes
+        changeLog.poll();
+        studentRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM student_changes");
+        jdbcTemplate.update("UPDATE student_change_purge SET purged_seq = 0");
+    }
+
+    @Test
+    void getDelta_shouldReturnOnlyWhatChangedAfterTheWatermark() {
+        StudentDto alice = create("alice");
+        StudentDto bob = create("bob");
+        StudentDelta full = delta(0, 100);
+        assertEquals(List.of("alice", "bob"), usernames(full));
+        assertTrue(full.getDeleted().isEmpty());
+
+        studentService.updateStudent(alice.getId(), dto("alicia", Level.SECOND_GRADE));
+        studentService.deleteStudent(bob.getId());
+        create("carol");
+        StudentDelta delta = delta(full.getWatermark(), 100);
+
+        assertEquals(List.of("alicia", "carol"), usernames(delta));
+        assertEquals(List.of(bob.getId()), delta.getDeleted());
+        assertTrue(delta.getWatermark() > full.getWatermark());
+        assertFalse(delta.isHasNext());
+
+        StudentDelta nothing = delta(delta.getWatermark(), 100);
+        assertTrue(nothing.getChanged().isEmpty());
+        assertTrue(nothing.getDeleted().isEmpty());
+        assertEquals(delta.getWatermark(), nothing.getWatermark());
+    }
+
+    @Test
+    void getDelta_shouldPageBulkChangesWithinOneSync() {
+        long start = delta(0, 1).getWatermark();
+        StudentBulkRequest creates = new StudentBulkRequest();
+        creates.setCreates(List.of(dto("s1", Level.FIRST_GRADE), dto("s2", Level.FIRST_GRADE),
+                dto("s3", Level.FIRST_GRADE), dto("s4", Level.FIRST_GRADE)));
+        List<Long> ids = new ArrayList<>();
+        studentService.applyBulk(creates).getResults().forEach(result -> ids.add(result.getId()));
+        StudentBulkRequest deletes = new StudentBulkRequest();
+        deletes.setDeletes(List.of(ids.get(1)));
+        studentService.applyBulk(deletes);
+
+        List<String> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        StudentDelta page = delta(start, 2);
+        long watermark = page.getWatermark();
+        int pages = 1;
+        changed.addAll(usernames(page));
+        deleted.addAll(page.getDeleted());
+        while (page.isHasNext()) {
+            create("late" + pages);
+            changeLog.poll();
+            page = studentDeltaService.getDelta(0, page.getNextCursor(), 2);
+            assertEquals(watermark, page.getWatermark());
+            changed.addAll(usernames(page));
+            deleted.addAll(page.getDeleted());
+            pages++;
+        }
+
+        // Writes made during the sync belong to the next one; s2 was created on the first page and deleted on the last
+        assertEquals(List.of("s1", "s2", "s3", "s4"), changed);
+        assertEquals(List.of(ids.get(1)), deleted);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void getDelta_shouldSendEachStudentOnceInItsLatestStatePerPage() {
+        long start = delta(0, 1).getWatermark();
+        StudentDto alice = create("alice");
+        studentService.updateStudent(alice.getId(), dto("alicia", Level.SECOND_GRADE));
+        StudentDto bob = create("bob");
+        studentService.deleteStudent(bob.getId());
+
+        StudentDelta delta = delta(start, 100);
+
+        assertEquals(List.of("alicia"), usernames(delta));
+        assertEquals(Level.SECOND_GRADE, delta.getChanged().get(0).getLevel());
+        assertEquals(List.of(bob.getId()), delta.getDeleted());
+    }
+
+    @Test
+    void exportDelta_shouldWriteChangesInOrderAndReportTheWatermark() {
+        // A watermark of 0 means a full sync, which leaves deletions out
+        create("zoe");
+        long start = delta(0, 1).getWatermark();
+        studentService.importStudents(new ByteArrayInputStream(
+                "ID,Username,Level\n,dave,FIRST_GRADE\n,erin,THIRD_GRADE\n".getBytes(StandardCharsets.UTF_8)),
+                ImportProgressListener.NONE);
+        Long daveId = studentRepository.findAll().stream()
+                .filter(student -> student.getUsername().equals("dave"))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+        studentService.deleteStudent(daveId);
+        changeLog.poll();
+
+        AtomicLong watermark = new AtomicLong();
+        StringWriter csv = new StringWriter();
+        studentDeltaService.exportDelta(start, watermark::set, csv);
+
+        String[] lines = csv.toString().split("\n");
+        assertEquals("\"ID\",\"Username\",\"Level\",\"Deleted\"", lines[0]);
+        assertEquals(4, lines.length);
+        assertEquals("\"" + daveId + "\",\"dave\",\"FIRST_GRADE\",\"false\"", lines[1]);
+        assertTrue(lines[2].contains("\"erin\",\"THIRD_GRADE\",\"false\""));
+        assertEquals("\"" + daveId + "\",\"dave\",\"\",\"true\"", lines[3]);
+        assertEquals(delta(0, 1).getWatermark(), watermark.get());
+    }
+
+    @Test
+    void getDelta_shouldRejectWatermarksPastTheRetainedChanges() {
+        create("zoe");
+        long start = delta(0, 1).getWatermark();
+        StudentDto frank = create("frank");
+        studentService.deleteStudent(frank.getId());
+        create("grace");
+
+        changeLogRepository.purge(Instant.now().plusSeconds(1));
+
+        assertThrows(GoneException.class, () -> delta(start, 100));
+        assertThrows(GoneException.class, () -> delta(Long.MAX_VALUE, 100));
+        assertEquals(List.of("zoe", "grace"), usernames(delta(0, 100)));
+    }
+
+    /** Starts a sync once this node has read the log up to the latest write, as its poller would. */
+    private StudentDelta delta(long since, int limit) {
+        changeLog.poll();
+        return studentDeltaService.getDelta(since, null, limit);
+    }
+
+    private StudentDto create(String username) {
+        return studentService.createStudent(dto(username, Level.FIRST_GRADE));
+    }
+
+    private static StudentCreateUpdateDto dto(String username, Level level) {
+        StudentCreateUpdateDto dto = new StudentCreateUpdateDto();
+        dto.setUsername(username);
+        dto.setLevel(level);
+        return dto;
+    }
+
+    private static List<String> usernames(StudentDelta delta) {
+        return delta.getChanged().stream().map(StudentDto::getUsername).toList();
+    }
+}
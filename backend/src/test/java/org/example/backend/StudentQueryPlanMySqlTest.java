@@ -0,0 +1,148 @@
+package org.example.backend;
+
+import org.example.backend.enums.Level;
+import org.example.backend.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link StudentQueryPlanTest} against MySQL: the migrated schema is seeded with {@value #STUDENTS} students
+ * and analyzed, then {@code EXPLAIN} shows which index MySQL's own planner picks for the SQL Hibernate
+ * generates, and whether it still has to sort. Needs Docker and is skipped without it.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.example.backend.StudentQueryPlanTest$LastStatement",
+        "management.server.port=0"
+})
+class StudentQueryPlanMySqlTest {
+
+    private static final int STUDENTS = 20_000;
+    /** One student in this many is called alice..., so a prefix search on "ali" is selective. */
+    private static final int ALICE_EVERY = 100;
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+    }
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (studentRepository.count() > 0) {
+            return;
+        }
+        Level[] levels = Level.values();
+        List<Object[]> rows = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            String username = (i % ALICE_EVERY == 0 ? "Alice" : "student") + String.format("%05d", i);
+            rows.add(new Object[]{username, levels[i % levels.length].name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO students (username, level, version) VALUES (?, ?, 0)", rows);
+        jdbcTemplate.execute("ANALYZE TABLE students");
+    }
+
+    @Test
+    void listAllById_shouldReadPrimaryKeyInOrder() {
+        studentRepository.findAllBy(PageRequest.of(0, 20, Sort.by("id")));
+
+        assertNoSort(assertUsesIndex("PRIMARY", 21));
+    }
+
+    @Test
+    void listAllByUsername_shouldReadUsernameIndexInOrder() {
+        studentRepository.findAllBy(PageRequest.of(0, 20, Sort.by("username")));
+
+        assertNoSort(assertUsesIndex("uk_students_username", 21));
+    }
+
+    @Test
+    void listByLevel_shouldReadLevelUsernameIndexInOrder() {
+        studentRepository.findSliceByLevel(Level.FIRST_GRADE, PageRequest.of(0, 20, Sort.by("username")));
+
+        assertNoSort(assertUsesIndex("idx_students_level_username", "FIRST_GRADE", 21));
+    }
+
+    @Test
+    void countByLevel_shouldUseALevelIndex() {
+        studentRepository.countByLevel(Level.SECOND_GRADE);
+
+        Map<String, Object> plan = explainLastStatement("SECOND_GRADE");
+        assertTrue(String.valueOf(plan.get("key")).startsWith("idx_students_level_username"), () -> "Expected a level index:\n" + plan);
+        assertEquals("ref", plan.get("type"), () -> "Expected a ref lookup:\n" + plan);
+    }
+
+    @Test
+    void prefixSearch_shouldRangeScanLowerCaseUsernameIndex() {
+        studentRepository.findSliceByUsernamePrefix("ali", PageRequest.of(0, 20));
+
+        assertEquals("range", assertUsesIndex("idx_students_username_lower", "ali", 21).get("type"));
+    }
+
+    @Test
+    void prefixSearchWithinLevel_shouldRangeScanLevelAndLowerCaseUsernameIndex() {
+        studentRepository.countByUsernamePrefixAndLevel("ali", Level.FIRST_GRADE);
+
+        assertEquals("range", assertUsesIndex("idx_students_level_username_lower", "FIRST_GRADE", "ali").get("type"));
+    }
+
+    @Test
+    void substringSearch_shouldScanTheTable() {
+        studentRepository.findSliceByUsernameContaining("ali", PageRequest.of(0, 20));
+
+        // A leading wildcard cannot use a B-tree index; StudentSearchIndex answers these in memory instead
+        Map<String, Object> plan = explainLastStatement("ali", 21);
+        assertEquals("ALL", plan.get("type"), () -> "Expected a table scan:\n" + plan);
+    }
+
+    @Test
+    void usernameLookup_shouldUseLowerCaseUsernameIndex() {
+        studentRepository.findByUsernameLowerIn(List.of("alice00100", "bob"));
+
+        assertUsesIndex("idx_students_username_lower", "alice00100", "bob");
+    }
+
+    private Map<String, Object> assertUsesIndex(String index, Object... parameters) {
+        Map<String, Object> plan = explainLastStatement(parameters);
+        assertEquals(index, plan.get("key"), () -> "Expected " + index + " in plan:\n" + plan);
+        assertNotEquals("ALL", plan.get("type"), () -> "Unexpected table scan in plan:\n" + plan);
+        return plan;
+    }
+
+    private static void assertNoSort(Map<String, Object> plan) {
+        assertFalse(String.valueOf(plan.get("Extra")).contains("Using filesort"), () -> "Unexpected sort in plan:\n" + plan);
+    }
+
+    /** The listing and search queries read the students table only, so their plan is a single row. */
+    private Map<String, Object> explainLastStatement(Object... parameters) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + StudentQueryPlanTest.LastStatement.sql, parameters);
+        assertEquals(1, plan.size(), () -> "Expected a single table in plan:\n" + plan);
+        return plan.get(0);
+    }
+}
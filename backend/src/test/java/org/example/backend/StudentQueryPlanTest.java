@@ -0,0 +1,150 @@
+package org.example.backend;
+
+import org.example.backend.enums.Level;
+import org.example.backend.repository.StudentRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the SQL that Hibernate generates for the listing and search queries through H2's {@code EXPLAIN} on
+ * the migrated, empty schema. H2 picks an index by its shape alone, so this only catches a query that can no
+ * longer use its index at all (a function around the column, a leading wildcard); it says nothing about what
+ * MySQL chooses on real data, which {@link StudentQueryPlanMySqlTest} checks.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.backend.StudentQueryPlanTest$LastStatement")
+@ActiveProfiles("test")
+class StudentQueryPlanTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+    }
+
+    @Test
+    void listAll_shouldReadOnlyThePageWithoutSorting() {
+        studentRepository.findAllBy(PageRequest.of(0, 20));
+
+        // No filter and no order: the scan stops after offset + size rows, so a page costs what it returns
+        String plan = assertScansTable(0, 21);
+        assertFalse(plan.contains("order by"), () -> "Unexpected sort in plan:\n" + plan);
+    }
+
+    @Test
+    void listAllById_shouldReadPrimaryKeyInOrder() {
+        studentRepository.findAllBy(PageRequest.of(0, 20, Sort.by("id")));
+
+        assertTrue(assertUsesIndex("primary_key", 0, 21).contains("index sorted"));
+    }
+
+    @Test
+    void listAllByUsername_shouldReadUsernameIndexInOrder() {
+        studentRepository.findAllBy(PageRequest.of(0, 20, Sort.by("username")));
+
+        assertTrue(assertUsesIndex("uk_students_username", 0, 21).contains("index sorted"));
+    }
+
+    @Test
+    void substringSearch_shouldScanTheTable() {
+        studentRepository.findSliceByUsernameContaining("ali", PageRequest.of(0, 20));
+
+        // A leading wildcard cannot use a B-tree index; StudentSearchIndex answers these in memory instead
+        assertScansTable("ali", 0, 21);
+    }
+
+    @Test
+    void listByLevel_shouldUseLevelUsernameIndex() {
+        studentRepository.findSliceByLevel(Level.FIRST_GRADE, PageRequest.of(0, 20, Sort.by("username")));
+
+        assertUsesIndex("idx_students_level_username", "FIRST_GRADE", 0, 21);
+    }
+
+    @Test
+    void countByLevel_shouldUseLevelUsernameIndex() {
+        studentRepository.countByLevel(Level.SECOND_GRADE);
+
+        assertUsesIndex("idx_students_level_username", "SECOND_GRADE");
+    }
+
+    @Test
+    void substringSearchWithinLevel_shouldUseLevelIndex() {
+        studentRepository.findSliceByUsernameContainingAndLevel("ali", Level.FIRST_GRADE, PageRequest.of(0, 20));
+
+        assertUsesIndex("idx_students_level_username", "FIRST_GRADE", "ali", 0, 21);
+    }
+
+    @Test
+    void prefixSearch_shouldRangeScanLowerCaseUsernameIndex() {
+        studentRepository.findSliceByUsernamePrefix("ali", PageRequest.of(0, 20));
+
+        assertUsesIndex("idx_students_username_lower", "ali", 0, 21);
+    }
+
+    @Test
+    void prefixSearchWithinLevel_shouldUseLevelAndLowerCaseUsernameIndex() {
+        studentRepository.countByUsernamePrefixAndLevel("ali", Level.FIRST_GRADE);
+
+        assertUsesIndex("idx_students_level_username_lower", "FIRST_GRADE", "ali");
+    }
+
+    @Test
+    void idSearch_shouldUsePrimaryKey() {
+        studentRepository.findById(42L);
+
+        assertUsesIndex("primary_key", 42L);
+    }
+
+    @Test
+    void usernameLookup_shouldUseLowerCaseUsernameIndex() {
+        studentRepository.findByUsernameLowerIn(List.of("alice", "bob"));
+
+        assertUsesIndex("idx_students_username_lower", "alice", "bob");
+    }
+
+    private String assertUsesIndex(String index, Object... parameters) {
+        String plan = explainLastStatement(parameters);
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+        assertFalse(plan.contains("tablescan"), () -> "Unexpected table scan in plan:\n" + plan);
+        return plan;
+    }
+
+    private String assertScansTable(Object... parameters) {
+        String plan = explainLastStatement(parameters);
+        assertTrue(plan.contains("students.tablescan"), () -> "Expected a table scan in plan:\n" + plan);
+        return plan;
+    }
+
+    private String explainLastStatement(Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + LastStatement.sql, String.class, parameters).toLowerCase(Locale.ROOT);
+    }
+
+    /** Remembers the last SQL statement Hibernate prepared. */
+    public static class LastStatement implements StatementInspector {
+        static volatile String sql;
+
+        @Override
+        public String inspect(String statement) {
+            sql = statement;
+            return statement;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.backend;
+
+import org.example.backend.dto.StudentDto;
+import org.example.backend.entity.Student;
+import org.example.backend.enums.Level;
+import org.example.backend.event.LoggedStudentChange;
+import org.example.backend.event.StudentChangeEvent;
+import org.example.backend.event.StudentChangeLogEvent;
+import org.example.backend.repository.StudentRepository;
+import org.example.backend.service.StudentSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StudentSearchIndexTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    private StudentSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(studentRepository.findNextOrderById(isNull(), isNull(), isNull(), isNull(), any())).thenReturn(List.of(
+                new Student(1L, "Alice", Level.FIRST_GRADE, 0L, "alice"),
+                new Student(2L, "malice", Level.SECOND_GRADE, 0L, "malice"),
+                new Student(3L, "bob", Level.FIRST_GRADE, 0L, "bob"),
+                new Student(12L, "carol", Level.THIRD_GRADE, 0L, "carol")
+        ));
+        index = new StudentSearchIndex(studentRepository, true);
+        index.rebuild();
+    }
+
+    @Test
+    void rebuild_shouldLoadAllStudents() {
+        assertTrue(index.isReady());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void search_shouldMatchSubstringsCaseInsensitively() {
+        assertEquals(List.of(1L, 2L), index.search("LIC", null, Sort.unsorted()));
+        assertEquals(List.of(3L), index.search("BOB", Level.FIRST_GRADE, Sort.unsorted()));
+        assertEquals(List.of(), index.search("xyz", null, Sort.unsorted()));
+    }
+
+    @Test
+    void search_shouldNotScanTheIndexForTermsShorterThanAGram() {
+        assertEquals(List.of(), index.search("o", null, Sort.unsorted()));
+        assertEquals(List.of(), index.search("al", null, Sort.unsorted()));
+    }
+
+    @Test
+    void search_shouldApplyLevelFilter() {
+        assertEquals(List.of(2L), index.search("alice", Level.SECOND_GRADE, Sort.unsorted()));
+    }
+
+    @Test
+    void search_shouldMatchExactId() {
+        assertEquals(List.of(12L), index.search("12", null, Sort.unsorted()));
+    }
+
+    @Test
+    void search_shouldOrderBySort() {
+        assertEquals(List.of(2L, 1L), index.search("lic", null, Sort.by(Sort.Direction.DESC, "username")));
+    }
+
+    @Test
+    void onStudentChange_shouldKeepIndexCurrent() {
+        StudentDto before = new StudentDto(3L, "bob", Level.FIRST_GRADE, 0L);
+        StudentDto after = new StudentDto(3L, "bobby", Level.SECOND_GRADE, 1L);
+
+        index.onStudentChange(StudentChangeEvent.updated(before, after));
+        index.onStudentChange(StudentChangeEvent.deleted(new StudentDto(1L, "Alice", Level.FIRST_GRADE, 0L)));
+        index.onStudentChange(StudentChangeEvent.created(new StudentDto(20L, "dalice", Level.FIRST_GRADE, 0L)));
+
+        assertEquals(List.of(3L), index.search("bobb", Level.SECOND_GRADE, Sort.unsorted()));
+        assertEquals(List.of(), index.search("bob", Level.FIRST_GRADE, Sort.unsorted()));
+        assertEquals(List.of(2L, 20L), index.search("alice", null, Sort.unsorted()));
+    }
+
+    @Test
+    void onChangeLog_shouldFollowOtherNodesWithoutUndoingNewerLocalChanges() {
+        StudentDto renamedHere = new StudentDto(3L, "roberta", Level.FIRST_GRADE, 2L);
+        index.onStudentChange(StudentChangeEvent.updated(new StudentDto(3L, "bob", Level.FIRST_GRADE, 0L), renamedHere));
+
+        index.onChangeLog(new StudentChangeLogEvent(List.of(
+                new LoggedStudentChange(7, StudentChangeEvent.Type.UPDATED, new StudentDto(3L, "robert", Level.FIRST_GRADE, 1L), Level.FIRST_GRADE),
+                new LoggedStudentChange(8, StudentChangeEvent.Type.UPDATED, renamedHere, Level.FIRST_GRADE),
+                new LoggedStudentChange(9, StudentChangeEvent.Type.CREATED, new StudentDto(30L, "elsewhere", Level.FIRST_GRADE, 0L), null)),
+                9));
+
+        assertEquals(List.of(3L), index.search("roberta", null, Sort.unsorted()));
+        assertEquals(List.of(30L), index.search("elsewhere", null, Sort.unsorted()));
+    }
+
+    @Test
+    void rebuild_shouldKeepServingAndKeepChangesMadeWhileLoading() {
+        when(studentRepository.findNextOrderById(isNull(), isNull(), isNull(), isNull(), any())).thenAnswer(invocation -> {
+            // Searches still see the old copy while the new one loads
+            assertEquals(List.of(1L, 2L), index.search("lic", null, Sort.unsorted()));
+            index.onStudentChange(StudentChangeEvent.created(new StudentDto(40L, "felicity", Level.FIRST_GRADE, 0L)));
+            return List.of(new Student(1L, "Alice", Level.FIRST_GRADE, 0L, "alice"));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(1L, 40L), index.search("lic", null, Sort.unsorted()));
+        assertEquals(2, index.size());
+    }
+}
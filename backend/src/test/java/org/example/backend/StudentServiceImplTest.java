@@ -1,22 +1,56 @@
 package org.example.backend;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.config.CacheConfig;
+import org.example.backend.dto.BulkItemResult;
+import org.example.backend.dto.ImportError;
+import org.example.backend.dto.ImportReport;
+import org.example.backend.dto.StudentBulkRequest;
+import org.example.backend.dto.StudentBulkResponse;
+import org.example.backend.dto.StudentBulkUpdate;
 import org.example.backend.dto.StudentCreateUpdateDto;
+import org.example.backend.dto.StudentCursorPage;
 import org.example.backend.dto.StudentDto;
+import org.example.backend.dto.StudentSlice;
+import org.example.backend.dto.StudentStatistics;
 import org.example.backend.entity.Student;
+import org.example.backend.enums.BulkItemStatus;
+import org.example.backend.enums.ImportMode;
 import org.example.backend.enums.Level;
+import org.example.backend.enums.StudentSort;
+import org.example.backend.exception.BadRequestException;
+import org.example.backend.exception.PreconditionFailedException;
 import org.example.backend.exception.ResourceNotFoundException;
+import org.example.backend.repository.StudentBatchRepository;
 import org.example.backend.repository.StudentRepository;
+import org.example.backend.service.StudentChangeLog;
+import org.example.backend.service.StudentCountService;
+import org.example.backend.service.StudentSearchIndex;
+import org.example.backend.service.StudentSearchPlan;
 import org.example.backend.service.StudentService;
+import org.example.backend.service.StudentStatisticsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -31,9 +65,35 @@ class StudentServiceImplTest {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private StudentBatchRepository studentBatchRepository;
+
+    @Autowired
+    private StudentSearchIndex searchIndex;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private StudentCountService studentCountService;
+
+    @Autowired
+    private StudentStatisticsService studentStatisticsService;
+
+    @Autowired
+    private StudentChangeLog changeLog;
+
     @BeforeEach
     void setUp() {
         studentRepository.deleteAll();
+        searchIndex.rebuild();
+        cacheManager.getCache(CacheConfig.STUDENTS).clear();
+        studentCountService.invalidateAll();
+        changeLog.poll();
+        studentStatisticsService.reconcile();
     }
 
     @Test
@@ -49,6 +109,160 @@ class StudentServiceImplTest {
         assertEquals("student", students.getContent().get(0).getUsername());
     }
 
+    @Test
+    void getAllStudents_shouldSearchUsernamesThroughIndex() {
+        for (String name : new String[]{"alice", "malice", "bob"}) {
+            StudentCreateUpdateDto dto = new StudentCreateUpdateDto();
+            dto.setUsername(name);
+            dto.setLevel(Level.FIRST_GRADE);
+            studentService.createStudent(dto);
+        }
+
+        Page<StudentDto> students = studentService.getAllStudents("LIC", null, PageRequest.of(0, 1));
+
+        assertEquals(2, students.getTotalElements());
+        assertEquals(List.of("alice"), students.getContent().stream().map(StudentDto::getUsername).toList());
+    }
+
+    @Test
+    void getAllStudents_shouldPlanIdPrefixAndSubstringSearches() {
+        Long aliceId = null;
+        for (String name : new String[]{"alice", "Alina", "malice", "a_b", "axb"}) {
+            StudentCreateUpdateDto dto = new StudentCreateUpdateDto();
+            dto.setUsername(name);
+            dto.setLevel(name.equals("Alina") ? Level.SECOND_GRADE : Level.FIRST_GRADE);
+            StudentDto created = studentService.createStudent(dto);
+            aliceId = aliceId == null ? created.getId() : aliceId;
+        }
+        Pageable byUsername = PageRequest.of(0, 10, Sort.by("username"));
+
+        assertEquals(List.of("alice"), usernames(studentService.getAllStudents(aliceId.toString(), null, byUsername)));
+        assertEquals(List.of(), usernames(studentService.getAllStudents(aliceId.toString(), Level.SECOND_GRADE, byUsername)));
+        assertEquals(List.of("Alina", "alice"), usernames(studentService.getAllStudents("ALI*", null, byUsername)));
+        assertEquals(List.of("alice"), usernames(studentService.getAllStudents("ali*", Level.FIRST_GRADE, byUsername)));
+        assertEquals(List.of("alice", "malice"), usernames(studentService.getAllStudents("lic", null, byUsername)));
+        assertEquals(List.of("a_b"), usernames(studentService.getAllStudents("a_*", null, byUsername)));
+        // Too short for a substring search, so matched as a prefix
+        assertEquals(List.of("Alina", "alice"), usernames(studentService.getAllStudents("al", null, byUsername)));
+        assertEquals(List.of(), usernames(studentService.getAllStudents("li", null, byUsername)));
+        assertEquals(2, studentService.getAllStudents("ali*", null, PageRequest.of(0, 1)).getTotalElements());
+    }
+
+    @Test
+    void getAllStudents_shouldMatchAnAllDigitTermAsIdAndAsUsername() {
+        StudentCreateUpdateDto dto = new StudentCreateUpdateDto();
+        dto.setUsername("alice");
+        dto.setLevel(Level.FIRST_GRADE);
+        String id = studentService.createStudent(dto).getId().toString();
+        for (String name : new String[]{id + "x", "student" + id, "bob"}) {
+            dto.setUsername(name);
+            studentService.createStudent(dto);
+        }
+        Pageable byUsername = PageRequest.of(0, 10, Sort.by("username"));
+        // Ids shorter than a substring search are matched as prefixes, see getAllStudents_shouldPlanIdPrefixAndSubstringSearches
+        List<String> expected = id.length() >= StudentSearchPlan.MIN_CONTAINS_LENGTH
+                ? List.of(id + "x", "alice", "student" + id)
+                : List.of(id + "x", "alice");
+
+        assertEquals(expected, usernames(studentService.getAllStudents(id, null, byUsername)));
+        assertEquals(expected, studentService.getStudentSlice(id, null, byUsername).getContent().stream()
+                .map(StudentDto::getUsername).toList());
+        assertEquals(expected.size(), studentService.getStudentsByCursor(id, null, StudentSort.USERNAME, null, 10).getContent().size());
+        assertEquals(List.of(id + "x", "alice"), usernames(studentService.getAllStudents(id + "*", null, byUsername)));
+        assertEquals(List.of(), usernames(studentService.getAllStudents(id, Level.SECOND_GRADE, byUsername)));
+    }
+
+    private static List<String> usernames(Page<StudentDto> page) {
+        return page.getContent().stream().map(StudentDto::getUsername).toList();
+    }
+
+    @Test
+    void getStudentsByCursor_shouldWalkAllSlicesInIdOrder() {
+        for (int i = 0; i < 5; i++) {
+            Student student = new Student();
+            student.setUsername("student" + i);
+            student.setLevel(Level.FIRST_GRADE);
+            studentRepository.save(student);
+        }
+
+        List<String> usernames = new ArrayList<>();
+        String cursor = null;
+        StudentCursorPage page;
+        do {
+            page = studentService.getStudentsByCursor(null, null, StudentSort.ID, cursor, 2);
+            page.getContent().forEach(dto -> usernames.add(dto.getUsername()));
+            cursor = page.getNextCursor();
+        } while (page.isHasNext());
+
+        assertEquals(List.of("student0", "student1", "student2", "student3", "student4"), usernames);
+        assertNull(cursor);
+    }
+
+    @Test
+    void getStudentsByCursor_shouldSeekByUsernameAndApplyFilters() {
+        String[] names = {"delta", "alpha", "charlie", "bravo"};
+        for (String name : names) {
+            Student student = new Student();
+            student.setUsername(name);
+            student.setLevel(name.equals("charlie") ? Level.SECOND_GRADE : Level.FIRST_GRADE);
+            studentRepository.save(student);
+        }
+
+        StudentCursorPage first = studentService.getStudentsByCursor(null, Level.FIRST_GRADE, StudentSort.USERNAME, null, 2);
+        StudentCursorPage second = studentService.getStudentsByCursor(null, Level.FIRST_GRADE, StudentSort.USERNAME, first.getNextCursor(), 2);
+
+        assertEquals(List.of("alpha", "bravo"), first.getContent().stream().map(StudentDto::getUsername).toList());
+        assertTrue(first.isHasNext());
+        assertEquals(List.of("delta"), second.getContent().stream().map(StudentDto::getUsername).toList());
+        assertFalse(second.isHasNext());
+    }
+
+    @Test
+    void getStudentSlice_shouldReportHasNextAndKeepCachedTotalsCurrent() {
+        StudentCreateUpdateDto dto = new StudentCreateUpdateDto();
+        dto.setLevel(Level.FIRST_GRADE);
+        for (String name : new String[]{"alice", "bob", "carol"}) {
+            dto.setUsername(name);
+            studentService.createStudent(dto);
+        }
+
+        StudentSlice first = studentService.getStudentSlice(null, null, PageRequest.of(0, 2, Sort.by("id")));
+        dto.setUsername("dave");
+        dto.setLevel(Level.SECOND_GRADE);
+        StudentDto dave = studentService.createStudent(dto);
+        dto.setUsername("alice");
+        studentService.updateStudent(first.getContent().get(0).getId(), dto);
+        studentService.deleteStudent(dave.getId());
+        changeLog.poll();
+        StudentSlice last = studentService.getStudentSlice(null, null, PageRequest.of(1, 2, Sort.by("id")));
+
+        assertEquals(List.of("alice", "bob"), first.getContent().stream().map(StudentDto::getUsername).toList());
+        assertTrue(first.isHasNext());
+        assertEquals(3, first.getTotalElements());
+        assertTrue(first.isTotalExact());
+        assertFalse(last.isHasNext());
+        assertEquals(3, last.getTotalElements());
+        assertEquals(2, studentCountService.count(null, Level.FIRST_GRADE));
+        assertEquals(1, studentCountService.count(null, Level.SECOND_GRADE));
+    }
+
+    @Test
+    void getStudentsByCursor_shouldRejectCursorIssuedForAnotherSort() {
+        Student student = new Student();
+        student.setUsername("student");
+        student.setLevel(Level.FIRST_GRADE);
+        studentRepository.save(student);
+        Student other = new Student();
+        other.setUsername("other");
+        other.setLevel(Level.FIRST_GRADE);
+        studentRepository.save(other);
+
+        String cursor = studentService.getStudentsByCursor(null, null, StudentSort.ID, null, 1).getNextCursor();
+
+        assertThrows(BadRequestException.class,
+                () -> studentService.getStudentsByCursor(null, null, StudentSort.USERNAME, cursor, 1));
+    }
+
     @Test
     void getStudentById_shouldReturnStudent() {
         Student student = new Student();
@@ -66,6 +280,19 @@ class StudentServiceImplTest {
         assertThrows(ResourceNotFoundException.class, () -> studentService.getStudentById(1L));
     }
 
+    @Test
+    void getStudentById_shouldRecordServiceTimerByOutcome() {
+        Student student = studentRepository.save(Student.builder().username("student").level(Level.FIRST_GRADE).build());
+
+        studentService.getStudentById(student.getId());
+        assertThrows(ResourceNotFoundException.class, () -> studentService.getStudentById(student.getId() + 1));
+
+        assertTrue(meterRegistry.get("service.calls").tags("class", "StudentServiceImpl", "method", "getStudentById",
+                "outcome", "success").timer().count() >= 1);
+        assertTrue(meterRegistry.get("service.calls").tags("method", "getStudentById", "outcome", "error",
+                "exception", "ResourceNotFoundException").timer().count() >= 1);
+    }
+
     @Test
     void createStudent_shouldCreateStudent() {
         StudentCreateUpdateDto dto = new StudentCreateUpdateDto();
@@ -95,6 +322,37 @@ class StudentServiceImplTest {
         assertEquals(Level.SECOND_GRADE, studentDto.getLevel());
     }
 
+    @Test
+    void updateStudent_shouldEvictCachedStudent() {
+        Student student = studentRepository.save(Student.builder().username("student").level(Level.FIRST_GRADE).build());
+        studentService.getStudentById(student.getId());
+        assertNotNull(cacheManager.getCache(CacheConfig.STUDENTS).get(student.getId()));
+
+        StudentCreateUpdateDto dto = new StudentCreateUpdateDto();
+        dto.setUsername("updatedStudent");
+        dto.setLevel(Level.SECOND_GRADE);
+        studentService.updateStudent(student.getId(), dto);
+
+        assertNull(cacheManager.getCache(CacheConfig.STUDENTS).get(student.getId()));
+        assertEquals("updatedStudent", studentService.getStudentById(student.getId()).getUsername());
+    }
+
+    @Test
+    void updateStudent_shouldBumpVersionAndRejectStaleExpectedVersion() {
+        Student student = studentRepository.save(Student.builder().username("student").level(Level.FIRST_GRADE).build());
+        StudentCreateUpdateDto dto = new StudentCreateUpdateDto();
+        dto.setUsername("renamed");
+        dto.setLevel(Level.SECOND_GRADE);
+
+        StudentDto updated = studentService.updateStudent(student.getId(), dto, 0L);
+
+        assertEquals(1L, updated.getVersion());
+        assertThrows(PreconditionFailedException.class, () -> studentService.updateStudent(student.getId(), dto, 0L));
+        assertThrows(PreconditionFailedException.class, () -> studentService.deleteStudent(student.getId(), 0L));
+        studentService.deleteStudent(student.getId(), 1L);
+        assertFalse(studentRepository.existsById(student.getId()));
+    }
+
     @Test
     void updateStudent_shouldThrowResourceNotFoundException_whenStudentNotFound() {
         StudentCreateUpdateDto dto = new StudentCreateUpdateDto();
@@ -120,4 +378,203 @@ class StudentServiceImplTest {
     void deleteStudent_shouldThrowResourceNotFoundException_whenStudentNotFound() {
         assertThrows(ResourceNotFoundException.class, () -> studentService.deleteStudent(1L));
     }
+
+    @Test
+    void batchUpdate_shouldLeaveRowsChangedSinceTheyWereRead() {
+        Student read = studentRepository.save(Student.builder().username("raced").level(Level.FIRST_GRADE).build());
+        StudentCreateUpdateDto dto = new StudentCreateUpdateDto();
+        dto.setUsername("raced");
+        dto.setLevel(Level.SECOND_GRADE);
+        studentService.updateStudent(read.getId(), dto);
+
+        boolean[] written = studentBatchRepository.updateAll(List.of(Student.builder()
+                .id(read.getId())
+                .username("raced")
+                .level(Level.THIRD_GRADE)
+                .version(read.getVersion())
+                .build()));
+
+        assertFalse(written[0]);
+        Student current = studentRepository.findById(read.getId()).orElseThrow();
+        assertEquals(Level.SECOND_GRADE, current.getLevel());
+        assertEquals(read.getVersion() + 1, current.getVersion());
+    }
+
+    @Test
+    void applyBulk_shouldApplyValidItemsAndReportFailuresPerItem() {
+        Student keep = studentRepository.save(Student.builder().username("keep").level(Level.FIRST_GRADE).build());
+        Student rename = studentRepository.save(Student.builder().username("rename").level(Level.FIRST_GRADE).build());
+        Student remove = studentRepository.save(Student.builder().username("remove").level(Level.FIRST_GRADE).build());
+
+        StudentCreateUpdateDto fresh = new StudentCreateUpdateDto();
+        fresh.setUsername("fresh");
+        fresh.setLevel(Level.THIRD_GRADE);
+        StudentCreateUpdateDto taken = new StudentCreateUpdateDto();
+        taken.setUsername("keep");
+        taken.setLevel(Level.THIRD_GRADE);
+        StudentCreateUpdateDto reused = new StudentCreateUpdateDto();
+        reused.setUsername("remove");
+        reused.setLevel(Level.THIRD_GRADE);
+        StudentBulkRequest request = StudentBulkRequest.builder()
+                .deletes(List.of(remove.getId(), 999_999L))
+                .updates(List.of(
+                        new StudentBulkUpdate(rename.getId(), "renamed", Level.SECOND_GRADE, 0L),
+                        new StudentBulkUpdate(keep.getId(), "renamed", Level.SECOND_GRADE, null)))
+                .creates(List.of(fresh, taken, reused))
+                .build();
+
+        StudentBulkResponse response = studentService.applyBulk(request);
+
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getUpdated());
+        assertEquals(1, response.getDeleted());
+        assertEquals(3, response.getFailed());
+        assertEquals(List.of(BulkItemStatus.DELETED, BulkItemStatus.NOT_FOUND,
+                        BulkItemStatus.UPDATED, BulkItemStatus.CONFLICT,
+                        BulkItemStatus.CREATED, BulkItemStatus.CONFLICT, BulkItemStatus.CREATED),
+                response.getResults().stream().map(BulkItemResult::getStatus).toList());
+        assertFalse(studentRepository.existsById(remove.getId()));
+        assertEquals("renamed", studentRepository.findById(rename.getId()).orElseThrow().getUsername());
+        assertEquals(1L, studentRepository.findById(rename.getId()).orElseThrow().getVersion());
+        assertEquals("keep", studentRepository.findById(keep.getId()).orElseThrow().getUsername());
+        assertEquals(4, studentRepository.count());
+        assertEquals(List.of(rename.getId()), searchIndex.search("renamed", null, Sort.unsorted()));
+    }
+
+    @Test
+    void exportStudents_shouldStreamAllStudentsAsCsvInIdOrder() {
+        for (String name : new String[]{"bob", "alice"}) {
+            Student student = new Student();
+            student.setUsername(name);
+            student.setLevel(Level.FIRST_GRADE);
+            studentRepository.save(student);
+        }
+        List<Student> saved = studentRepository.findAll();
+        StringWriter writer = new StringWriter();
+
+        studentService.exportStudents(writer);
+
+        String expected = "\"ID\",\"Username\",\"Level\"\n"
+                + "\"" + saved.get(0).getId() + "\",\"bob\",\"FIRST_GRADE\"\n"
+                + "\"" + saved.get(1).getId() + "\",\"alice\",\"FIRST_GRADE\"\n";
+        assertEquals(expected, writer.toString());
+    }
+
+    @Test
+    void streamStudents_shouldWriteOneJsonLinePerMatchingStudentInIdOrder() throws IOException {
+        for (String name : new String[]{"bob", "alice", "alina", "malice"}) {
+            Student student = new Student();
+            student.setUsername(name);
+            student.setLevel(name.equals("alina") ? Level.SECOND_GRADE : Level.FIRST_GRADE);
+            studentRepository.save(student);
+        }
+
+        assertEquals(List.of("alice"), streamedUsernames("ali*", Level.FIRST_GRADE));
+        assertEquals(List.of("bob", "alice", "alina", "malice"), streamedUsernames(null, null));
+    }
+
+    private List<String> streamedUsernames(String searchTerm, Level level) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        studentService.streamStudents(searchTerm, level, output);
+        String ndjson = output.toString(StandardCharsets.UTF_8);
+        assertTrue(ndjson.endsWith("\n"));
+        List<String> usernames = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            usernames.add(new ObjectMapper().readValue(line, StudentDto.class).getUsername());
+        }
+        return usernames;
+    }
+
+    @Test
+    void statistics_shouldFollowWritesAndImportsWithoutQueries() {
+        Student seeded = studentRepository.save(Student.builder().username("seeded").level(Level.FIRST_GRADE).build());
+        studentStatisticsService.reconcile();
+        StudentCreateUpdateDto dto = new StudentCreateUpdateDto();
+        dto.setUsername("created");
+        dto.setLevel(Level.SECOND_GRADE);
+        StudentDto created = studentService.createStudent(dto);
+        dto.setLevel(Level.THIRD_GRADE);
+        studentService.updateStudent(created.getId(), dto);
+        studentService.deleteStudent(seeded.getId());
+        String csv = "ID,Username,Level\n1,imported,FIRST_GRADE\n2,other,THIRD_GRADE\n";
+        studentService.importStudents(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                (rowsProcessed, inserted, rejected) -> {
+                });
+        changeLog.poll();
+
+        StudentStatistics statistics = studentStatisticsService.getStatistics();
+
+        assertEquals(3, statistics.getTotal());
+        assertEquals(1, statistics.getLevels().get(Level.FIRST_GRADE));
+        assertEquals(0, statistics.getLevels().get(Level.SECOND_GRADE));
+        assertEquals(2, statistics.getLevels().get(Level.THIRD_GRADE));
+        studentStatisticsService.reconcile();
+        assertEquals(statistics.getLevels(), studentStatisticsService.getStatistics().getLevels());
+    }
+
+    @Test
+    void importStudents_shouldInsertValidRowsAndReportRejectedLines() {
+        Student existing = new Student();
+        existing.setUsername("taken");
+        existing.setLevel(Level.FIRST_GRADE);
+        studentRepository.save(existing);
+        String csv = "ID,Username,Level\n"
+                + "1,alice,FIRST_GRADE\n"
+                + "2,bob,SIXTH_GRADE\n"
+                + "3,taken,SECOND_GRADE\n"
+                + "4,alice,THIRD_GRADE\n"
+                + "5,carol\n"
+                + "6,dave,FIFTH_GRADE\n";
+        List<Long> progress = new ArrayList<>();
+
+        ImportReport report = studentService.importStudents(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                (rowsProcessed, inserted, rejected) -> progress.add(rowsProcessed));
+
+        assertEquals(6, report.getTotalRows());
+        assertEquals(2, report.getInserted());
+        assertEquals(4, report.getRejected());
+        assertEquals(List.of(3L, 6L, 5L, 4L), report.getErrors().stream().map(ImportError::getLine).toList());
+        assertEquals(List.of(6L), progress);
+        assertEquals(3, studentRepository.count());
+        assertEquals(Level.FIFTH_GRADE, studentRepository.findAll().stream()
+                .filter(s -> s.getUsername().equals("dave")).findFirst().orElseThrow().getLevel());
+        assertEquals(1, studentService.getAllStudents("dave", null, Pageable.unpaged()).getTotalElements());
+    }
+
+    @Test
+    void importStudents_shouldUpsertByUsernameAndSkipUnchangedRows() {
+        Student alice = studentRepository.save(Student.builder().username("Alice").level(Level.FIRST_GRADE).build());
+        Student bob = studentRepository.save(Student.builder().username("bob").level(Level.SECOND_GRADE).build());
+        String csv = "ID,Username,Level\n"
+                + ",alice,THIRD_GRADE\n"
+                + ",bob,SECOND_GRADE\n"
+                + ",carol,FIRST_GRADE\n"
+                + ",dave,SIXTH_GRADE\n";
+
+        ImportReport report = studentService.importStudents(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportMode.UPSERT, (rowsProcessed, inserted, rejected) -> {
+                });
+
+        assertEquals(1, report.getInserted());
+        assertEquals(1, report.getUpdated());
+        assertEquals(1, report.getUnchanged());
+        assertEquals(1, report.getRejected());
+        Student updated = studentRepository.findById(alice.getId()).orElseThrow();
+        assertEquals("Alice", updated.getUsername());
+        assertEquals(Level.THIRD_GRADE, updated.getLevel());
+        assertEquals(alice.getVersion() + 1, updated.getVersion());
+        Student untouched = studentRepository.findById(bob.getId()).orElseThrow();
+        assertEquals(bob.getVersion(), untouched.getVersion());
+        assertEquals(Level.THIRD_GRADE, studentService.getStudentById(alice.getId()).getLevel());
+
+        ImportReport rerun = studentService.importStudents(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportMode.UPSERT, (rowsProcessed, inserted, rejected) -> {
+                });
+
+        assertEquals(0, rerun.getInserted());
+        assertEquals(0, rerun.getUpdated());
+        assertEquals(3, rerun.getUnchanged());
+        assertEquals(3, studentRepository.count());
+    }
 }
@@ -0,0 +1,92 @@
+package org.example.backend;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.enums.Level;
+import org.example.backend.event.LoggedStudentChange;
+import org.example.backend.event.StudentChangeEvent;
+import org.example.backend.event.StudentChangeLogEvent;
+import org.example.backend.repository.StudentChangeLogRepository;
+import org.example.backend.repository.StudentRepository;
+import org.example.backend.service.StudentChangeLog;
+import org.example.backend.service.StudentStatisticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StudentStatisticsServiceImplTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private StudentChangeLogRepository changeLogRepository;
+
+    @Mock
+    private StudentChangeLog changeLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StudentStatisticsServiceImpl statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new StudentStatisticsServiceImpl(studentRepository, changeLogRepository, changeLog,
+                transactionManager, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void reconcile_shouldNotCountAChangeTwiceWhenItsEventArrivesAfterTheQuery() {
+        when(changeLog.highWaterMark()).thenReturn(1L);
+        when(studentRepository.countGroupByLevel()).thenReturn(List.<Object[]>of(new Object[]{Level.FIRST_GRADE, 1L}));
+        when(changeLogRepository.findBetween(eq(1L), anyLong(), anyInt())).thenReturn(List.of());
+        statistics.reconcile();
+
+        // Change 2 has committed: the GROUP BY already includes it, its event is still on its way
+        LoggedStudentChange created = new LoggedStudentChange(2, StudentChangeEvent.Type.CREATED,
+                student(2L, Level.SECOND_GRADE), null);
+        when(studentRepository.countGroupByLevel()).thenReturn(List.of(
+                new Object[]{Level.FIRST_GRADE, 1L}, new Object[]{Level.SECOND_GRADE, 1L}));
+        when(changeLogRepository.findBetween(eq(1L), anyLong(), anyInt())).thenReturn(List.of(created));
+        statistics.reconcile();
+        statistics.onChangeLog(new StudentChangeLogEvent(List.of(created), 2));
+
+        assertEquals(1, statistics.count(Level.FIRST_GRADE));
+        assertEquals(1, statistics.count(Level.SECOND_GRADE));
+        assertEquals(2, statistics.total());
+    }
+
+    @Test
+    void onChangeLog_shouldMoveLevelsAndIgnoreChangesAlreadyCounted() {
+        when(changeLog.highWaterMark()).thenReturn(0L);
+        when(studentRepository.countGroupByLevel()).thenReturn(List.of());
+        when(changeLogRepository.findBetween(eq(0L), anyLong(), anyInt())).thenReturn(List.of());
+        statistics.reconcile();
+
+        StudentChangeLogEvent event = new StudentChangeLogEvent(List.of(
+                new LoggedStudentChange(1, StudentChangeEvent.Type.CREATED, student(1L, Level.FIRST_GRADE), null),
+                new LoggedStudentChange(2, StudentChangeEvent.Type.UPDATED, student(1L, Level.THIRD_GRADE), Level.FIRST_GRADE)), 2);
+        statistics.onChangeLog(event);
+        statistics.onChangeLog(event);
+
+        assertEquals(0, statistics.count(Level.FIRST_GRADE));
+        assertEquals(1, statistics.count(Level.THIRD_GRADE));
+    }
+
+    private static StudentDto student(Long id, Level level) {
+        return new StudentDto(id, "student" + id, level, 0L);
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.entity.Student;
+import org.example.backend.enums.Level;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic data and infrastructure stand-ins shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /** {@code count} students with ids 1..count, usernames {@code student<id>} and levels round-robin. */
+    static List<Student> students(int count) {
+        Level[] levels = Level.values();
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            students.add(new Student((long) i, "student" + i, levels[i % levels.length], 0L, "student" + i));
+        }
+        return students;
+    }
+
+    /** Export-format CSV ({@code ID,Username,Level}) for {@code count} synthetic students. */
+    static String csv(int count) {
+        StringBuilder csv = new StringBuilder("\"ID\",\"Username\",\"Level\"\n");
+        for (Student student : students(count)) {
+            csv.append('"').append(student.getId()).append("\",\"")
+                    .append(student.getUsername()).append("\",\"")
+                    .append(student.getLevel().name()).append("\"\n");
+        }
+        return csv.toString();
+    }
+
+    /** Transaction manager that does nothing, so chunked code paths run without a database. */
+    static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.backend.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.config.JwtRequestFilter;
+import org.example.backend.config.JwtUtil;
+import org.example.backend.service.AdminDetailsCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost of {@link JwtRequestFilter}. {@code legacyTripleParse} reproduces the
+ * previous behaviour (three parses with a fresh parser and key decode each), {@code tokenCacheSize=0}
+ * measures a single parse with the prebuilt parser, and the default size measures the cached path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class JwtRequestFilterBenchmark {
+
+    static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Param({"0", "10000"})
+    public long tokenCacheSize;
+
+    private JwtRequestFilter filter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, tokenCacheSize);
+        UserDetails admin = new User("admin", "password", Collections.emptyList());
+        // Uncached on purpose: this measures token handling, not the principal lookup
+        filter = new JwtRequestFilter(new AdminDetailsCache(username -> admin), jwtUtil, new SimpleMeterRegistry());
+        token = jwtUtil.generateToken(admin);
+    }
+
+    @Benchmark
+    public void filter(Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public void legacyTripleParse(Blackhole blackhole) {
+        // extractUsername in the filter, then extractUsername + extractExpiration in validateToken
+        for (int i = 0; i < 3; i++) {
+            Claims claims = Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+            blackhole.consume(claims);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.example.backend.dto.ImportReport;
+import org.example.backend.entity.Student;
+import org.example.backend.mapper.StudentMapper;
+import org.example.backend.mapper.StudentMapperImpl;
+import org.example.backend.repository.StudentBatchRepository;
+import org.example.backend.repository.StudentRepository;
+import org.example.backend.service.ImportProgressListener;
+import org.example.backend.service.StudentBulkProcessor;
+import org.example.backend.service.StudentCacheInvalidator;
+import org.example.backend.service.StudentCountService;
+import org.example.backend.service.StudentImporter;
+import org.example.backend.service.StudentSearchIndex;
+import org.example.backend.service.StudentServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * CSV throughput of {@code importStudents} and {@code exportStudents} on synthetic files. The database
+ * is replaced by stub repositories, so this measures parsing, validation, chunking, mapping and
+ * writing only; divide {@code rows} by the score for rows per millisecond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentCsvBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private StudentServiceImpl studentService;
+    private byte[] csv;
+
+    @Setup
+    public void setUp() {
+        List<Student> students = BenchmarkFixtures.students(rows);
+        csv = BenchmarkFixtures.csv(rows).getBytes(StandardCharsets.UTF_8);
+
+        // Stub-only mocks keep no invocation history, so they do not grow across iterations
+        StudentRepository studentRepository = mock(StudentRepository.class, withSettings().stubOnly());
+        when(studentRepository.streamAllOrderById()).thenAnswer(invocation -> students.stream());
+        StudentBatchRepository batchRepository = mock(StudentBatchRepository.class, withSettings().stubOnly());
+        EntityManager entityManager = mock(EntityManager.class, withSettings().stubOnly());
+
+        StudentMapper mapper = new StudentMapperImpl();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new BenchmarkFixtures.NoOpTransactionManager());
+        StudentImporter importer = new StudentImporter(studentRepository, batchRepository, mapper,
+                transactionTemplate, event -> {
+                }, meterRegistry, 1000);
+        StudentBulkProcessor bulkProcessor = new StudentBulkProcessor(studentRepository, batchRepository, mapper,
+                transactionTemplate, event -> {
+                }, 1000);
+        studentService = new StudentServiceImpl(studentRepository, mapper,
+                new StudentSearchIndex(studentRepository, false), mock(StudentCountService.class, withSettings().stubOnly()),
+                importer, bulkProcessor, mock(StudentCacheInvalidator.class, withSettings().stubOnly()), event -> {
+                }, entityManager, meterRegistry, new ObjectMapper());
+    }
+
+    @Benchmark
+    public ImportReport importStudents() {
+        return studentService.importStudents(new ByteArrayInputStream(csv), ImportProgressListener.NONE);
+    }
+
+    @Benchmark
+    public int exportStudents() {
+        StringWriter writer = new StringWriter(rows * 32);
+        studentService.exportStudents(writer);
+        return writer.getBuffer().length();
+    }
+}
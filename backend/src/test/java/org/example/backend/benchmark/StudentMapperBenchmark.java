@@ -0,0 +1,57 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.dto.StudentCreateUpdateDto;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.entity.Student;
+import org.example.backend.mapper.StudentMapper;
+import org.example.backend.mapper.StudentMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct conversions over a batch the size of a large page or import chunk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentMapperBenchmark {
+
+    @Param({"1000", "100000"})
+    public int batchSize;
+
+    private final StudentMapper mapper = new StudentMapperImpl();
+    private List<Student> students;
+    private List<StudentCreateUpdateDto> dtos;
+
+    @Setup
+    public void setUp() {
+        students = BenchmarkFixtures.students(batchSize);
+        dtos = students.stream()
+                .map(student -> {
+                    StudentCreateUpdateDto dto = new StudentCreateUpdateDto();
+                    dto.setUsername(student.getUsername());
+                    dto.setLevel(student.getLevel());
+                    return dto;
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public List<StudentDto> toDto() {
+        return students.stream().map(mapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<Student> toEntity() {
+        return dtos.stream().map(mapper::toEntity).toList();
+    }
+}
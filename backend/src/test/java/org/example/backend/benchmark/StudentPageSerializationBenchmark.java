@@ -0,0 +1,77 @@
+package org.example.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.CodedOutputStream;
+import org.example.backend.config.BinaryFormatsConfig;
+import org.example.backend.config.StudentProtobufHttpMessageConverter;
+import org.example.backend.dto.StudentDto;
+import org.example.backend.mapper.StudentMapper;
+import org.example.backend.mapper.StudentMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the {@code GET /api/students} response body in each format a client can negotiate:
+ * JSON as configured by Spring Boot, CBOR and Smile as configured by {@link BinaryFormatsConfig}, and
+ * protobuf. The encoded size of one page is printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentPageSerializationBenchmark {
+
+    @Param({"20", "1000"})
+    public int pageSize;
+
+    @Param({"JSON", "CBOR", "SMILE", "PROTOBUF"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private Page<StudentDto> page;
+
+    @Setup
+    public void setUp() {
+        StudentMapper mapper = new StudentMapperImpl();
+        List<StudentDto> content = BenchmarkFixtures.students(pageSize).stream().map(mapper::toDto).toList();
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 100_000);
+        objectMapper = switch (format) {
+            case "JSON" -> Jackson2ObjectMapperBuilder.json().build();
+            case "CBOR" -> BinaryFormatsConfig.cborMapper();
+            case "SMILE" -> BinaryFormatsConfig.smileMapper();
+            default -> null;
+        };
+    }
+
+    @Benchmark
+    public byte[] writePage() throws IOException {
+        if (objectMapper != null) {
+            return objectMapper.writeValueAsBytes(page);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        StudentProtobufHttpMessageConverter.write(page, out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @TearDown
+    public void reportPayloadSize() throws IOException {
+        System.out.printf("%n%s page of %d students: %d bytes%n", format, pageSize, writePage().length);
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.entity.Student;
+import org.example.backend.enums.Level;
+import org.example.backend.repository.StudentRepository;
+import org.example.backend.service.StudentSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Username substring search through the trigram index against the linear scan it replaces, over
+ * 100k students.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentSearchIndexBenchmark {
+
+    private static final int STUDENTS = 100_000;
+
+    @Param({"st", "nt12", "student4242"})
+    public String term;
+
+    private StudentSearchIndex index;
+    private List<Student> students;
+
+    @Setup
+    public void setUp() {
+        students = BenchmarkFixtures.students(STUDENTS);
+        StudentRepository studentRepository = mock(StudentRepository.class, withSettings().stubOnly());
+        when(studentRepository.findNextOrderById(isNull(), isNull(), isNull(), any(), any())).thenAnswer(invocation -> {
+            Long afterId = invocation.getArgument(2);
+            int from = afterId == null ? 0 : afterId.intValue();
+            int to = Math.min(from + ((Limit) invocation.getArgument(3)).max(), students.size());
+            return students.subList(from, to);
+        });
+        index = new StudentSearchIndex(studentRepository, true);
+        index.rebuild();
+    }
+
+    @Benchmark
+    public List<Long> index() {
+        return index.search(term, Level.FIRST_GRADE, Sort.by("username"));
+    }
+
+    @Benchmark
+    public List<Long> linearScan() {
+        String needle = term.toLowerCase(Locale.ROOT);
+        return students.stream()
+                .filter(student -> student.getLevel() == Level.FIRST_GRADE)
+                .filter(student -> student.getUsername().toLowerCase(Locale.ROOT).contains(needle))
+                .sorted((a, b) -> a.getUsername().compareToIgnoreCase(b.getUsername()))
+                .map(Student::getId)
+                .toList();
+    }
+}
@@ -1,4 +1,4 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule, ReactiveFormsModule, FormBuilder, FormGroup } from '@angular/forms';
 import { Router, RouterModule } from '@angular/router';
@@ -11,6 +11,8 @@ import { MatSelectModule } from '@angular/material/select';
 import { MatIconModule } from '@angular/material/icon';
 import { AuthService } from '../../services/auth.service';
 import { StudentService } from 'src/app/services/students.service';
+import { Subscription } from 'rxjs';
+import { auditTime, last, switchMap } from 'rxjs/operators';
 
 @Component({
   selector: 'app-students',
@@ -31,7 +33,7 @@ import { StudentService } from 'src/app/services/students.service';
   templateUrl: './students.component.html',
   styleUrls: ['./students.component.css']
 })
-export class StudentsComponent implements OnInit {
+export class StudentsComponent implements OnInit, OnDestroy {
   students: any[] = [];
   searchForm: FormGroup;
   studentForm: FormGroup;
@@ -41,6 +43,8 @@ export class StudentsComponent implements OnInit {
   editing = false;
   displayedColumns: string[] = ['id', 'username', 'level', 'actions'];
   levels = ['FIRST_GRADE', 'SECOND_GRADE', 'THIRD_GRADE', 'FOURTH_GRADE', 'FIFTH_GRADE'];
+  importMode: 'INSERT' | 'UPSERT' = 'INSERT';
+  private changes?: Subscription;
 
   constructor(
     private studentService: StudentService,
@@ -50,6 +54,7 @@ export class StudentsComponent implements OnInit {
   ) {
     this.searchForm = this.fb.group({
       searchTerm: [''],
+      match: ['prefix'],
       level: ['']
     });
 
@@ -62,6 +67,14 @@ export class StudentsComponent implements OnInit {
 
   ngOnInit(): void {
     this.loadStudents();
+    // Reload when anyone changes the roster; bursts of events cause one reload
+    this.changes = this.studentService.watchChanges().pipe(
+      auditTime(500)
+    ).subscribe(() => this.loadStudents());
+  }
+
+  ngOnDestroy(): void {
+    this.changes?.unsubscribe();
   }
 
   loadStudents(): void {
@@ -72,7 +85,8 @@ export class StudentsComponent implements OnInit {
     };
     this.studentService.getStudents(params).subscribe(response => {
       this.students = response.content;
-      this.totalPages = response.totalPages;
+      // totalElements may be an estimate for searches; never offer fewer pages than hasNext implies
+      this.totalPages = Math.max(Math.ceil(response.totalElements / this.size), this.page + (response.hasNext ? 2 : 1));
     });
   }
 
@@ -83,7 +97,7 @@ export class StudentsComponent implements OnInit {
 
   edit(student: any): void {
     this.editing = true;
-    this.studentForm.setValue(student);
+    this.studentForm.patchValue(student);
   }
 
   save(): void {
@@ -137,7 +151,10 @@ export class StudentsComponent implements OnInit {
 
   import(event: any): void {
     const file = event.target.files[0];
-    this.studentService.importStudents(file).subscribe(() => {
+    this.studentService.importStudents(file, this.importMode).pipe(
+      switchMap((job: any) => this.studentService.watchImportJob(job.jobId)),
+      last()
+    ).subscribe(() => {
       this.loadStudents();
     });
   }
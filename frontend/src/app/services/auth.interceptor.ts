@@ -3,13 +3,20 @@ import {
   HttpRequest,
   HttpHandler,
   HttpEvent,
-  HttpInterceptor
+  HttpInterceptor,
+  HttpResponse
 } from '@angular/common/http';
 import { Observable } from 'rxjs';
+import { tap } from 'rxjs/operators';
+
+// Set by the backend after a write; sent back so any node keeps our reads off a lagging replica
+const READ_PRIMARY_UNTIL = 'X-Read-Primary-Until';
 
 @Injectable()
 export class AuthInterceptor implements HttpInterceptor {
 
+  private readPrimaryUntil?: string;
+
   constructor() {}
 
   intercept(request: HttpRequest<unknown>, next: HttpHandler): Observable<HttpEvent<unknown>> {
@@ -21,6 +28,20 @@ export class AuthInterceptor implements HttpInterceptor {
         }
       });
     }
-    return next.handle(request);
+    if (this.readPrimaryUntil && Number(this.readPrimaryUntil) > Date.now()) {
+      request = request.clone({
+        setHeaders: {
+          [READ_PRIMARY_UNTIL]: this.readPrimaryUntil
+        }
+      });
+    }
+    return next.handle(request).pipe(
+      tap(event => {
+        const until = event instanceof HttpResponse ? event.headers.get(READ_PRIMARY_UNTIL) : null;
+        if (until) {
+          this.readPrimaryUntil = until;
+        }
+      })
+    );
   }
 }
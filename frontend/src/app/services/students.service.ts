@@ -1,6 +1,7 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpParams } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { HttpClient, HttpDownloadProgressEvent, HttpEventType, HttpHeaders, HttpParams } from '@angular/common/http';
+import { Observable, defer, timer } from 'rxjs';
+import { concatMap, filter, repeat, retry, switchMap, takeWhile } from 'rxjs/operators';
 
 @Injectable({
   providedIn: 'root'
@@ -14,8 +15,11 @@ export class StudentService {
 getStudents(params: any): Observable<any> {
     let httpParams = new HttpParams();
 
-    if (params.searchTerm) {
-      httpParams = httpParams.append('searchTerm', params.searchTerm);
+    const searchTerm = (params.searchTerm || '').trim();
+    if (searchTerm) {
+      // A trailing '*' asks for a prefix match, which the server answers from the username index
+      const prefix = params.match === 'prefix' && !searchTerm.endsWith('*');
+      httpParams = httpParams.append('searchTerm', prefix ? `${searchTerm}*` : searchTerm);
     }
 
     if (params.level) {
@@ -25,7 +29,8 @@ getStudents(params: any): Observable<any> {
     httpParams = httpParams.append('page', params.page);
     httpParams = httpParams.append('size', params.size);
 
-    return this.http.get(this.apiUrl, { params: httpParams });
+    // Count-free listing: one query per page, totals come from the server's count cache
+    return this.http.get(`${this.apiUrl}/slice`, { params: httpParams });
   }
 
   getStudent(id: number): Observable<any> {
@@ -48,9 +53,59 @@ getStudents(params: any): Observable<any> {
     return this.http.get(`${this.apiUrl}/export`, { responseType: 'blob' });
   }
 
-  importStudents(file: File): Observable<any> {
+  // mode UPSERT updates the level of students whose username already exists instead of rejecting the row.
+  importStudents(file: File, mode: 'INSERT' | 'UPSERT' = 'INSERT'): Observable<any> {
     const formData = new FormData();
     formData.append('file', file);
-    return this.http.post(`${this.apiUrl}/import`, formData);
+    return this.http.post(`${this.apiUrl}/import`, formData, { params: new HttpParams().set('mode', mode) });
+  }
+
+  getImportJob(jobId: string): Observable<any> {
+    return this.http.get(`${this.apiUrl}/import/${jobId}`);
+  }
+
+  // Polls an import job until it completes or fails, emitting every status along the way.
+  watchImportJob(jobId: string, intervalMs = 1000): Observable<any> {
+    return timer(0, intervalMs).pipe(
+      switchMap(() => this.getImportJob(jobId)),
+      takeWhile(job => job.state === 'QUEUED' || job.state === 'RUNNING', true)
+    );
+  }
+
+  // Follows the server-sent change feed, emitting each event name ('created', ..., 'reset'). Uses HttpClient
+  // rather than EventSource so the auth interceptor adds the token; reconnects with Last-Event-ID when it ends.
+  watchChanges(retryMs = 5000): Observable<string> {
+    let lastEventId: string | null = null;
+    return defer(() => {
+      const headers = lastEventId ? new HttpHeaders({ 'Last-Event-ID': lastEventId }) : new HttpHeaders();
+      let parsed = 0;
+      return this.http.get(`${this.apiUrl}/changes`, {
+        headers, responseType: 'text', observe: 'events', reportProgress: true
+      }).pipe(
+        filter((event): event is HttpDownloadProgressEvent => event.type === HttpEventType.DownloadProgress),
+        concatMap(event => {
+          const text = event.partialText ?? '';
+          const end = text.lastIndexOf('\n\n');
+          if (end < 0 || end + 2 <= parsed) {
+            return [];
+          }
+          const names: string[] = [];
+          for (const block of text.substring(parsed, end).split('\n\n')) {
+            for (const line of block.split('\n')) {
+              if (line.startsWith('id:')) {
+                lastEventId = line.substring(3);
+              } else if (line.startsWith('event:')) {
+                names.push(line.substring(6));
+              }
+            }
+          }
+          parsed = end + 2;
+          return names;
+        })
+      );
+    }).pipe(
+      repeat({ delay: retryMs }),
+      retry({ delay: retryMs })
+    );
   }
 }
\ No newline at end of file